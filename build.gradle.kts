@@ -36,8 +36,55 @@ dependencies {
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
     
+    // 영상 검색 (한국어 형태소 분석)
+    implementation("org.apache.lucene:lucene-core:9.9.2")
+    implementation("org.apache.lucene:lucene-analysis-nori:9.9.2")
+    
     // XSS 방지
     implementation("org.owasp.encoder:encoder:1.2.3")
+
+    // 테스트
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("org.testcontainers:junit-jupiter")
+    testImplementation("org.testcontainers:minio")
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+}
+
+// 인코딩 벤치마크 (ffmpeg 필요, ./gradlew benchPipeline)
+val bench by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations["benchImplementation"].extendsFrom(configurations.implementation.get())
+configurations["benchRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
+tasks.register<JavaExec>("benchPipeline") {
+    group = "benchmark"
+    description = "ffmpeg 프로세스 4회(기존) vs 단일 패스 처리 시간 비교"
+    classpath = bench.runtimeClasspath
+    mainClass.set("kr.salm.bench.PipelinePassBenchmark")
+    args(layout.buildDirectory.dir("bench").get().asFile.path)
+}
+
+tasks.register<JavaExec>("benchSegments") {
+    group = "benchmark"
+    description = "단일 프로세스 vs 구간 병렬 인코딩 처리 시간 비교"
+    classpath = bench.runtimeClasspath
+    mainClass.set("kr.salm.bench.SegmentParallelBenchmark")
+    args(layout.buildDirectory.dir("bench").get().asFile.path)
+}
+
+tasks.register<JavaExec>("benchThroughput") {
+    group = "benchmark"
+    description = "합성 영상 매트릭스 인코딩 처리량 (결과 JSON, --baseline 으로 비교)"
+    classpath = bench.runtimeClasspath
+    mainClass.set("kr.salm.bench.EncodingThroughputBenchmark")
+    args(layout.buildDirectory.dir("bench").get().asFile.path)
+    (project.findProperty("benchArgs") as String?)?.let { args(it.split(" ").filter { a -> a.isNotBlank() }) }
 }
 
 tasks.withType<JavaCompile> {
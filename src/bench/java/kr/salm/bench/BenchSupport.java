@@ -0,0 +1,104 @@
+package kr.salm.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.salm.file.service.EncodingCapacity;
+import kr.salm.file.service.FfmpegRunner;
+import kr.salm.file.service.HlsLadderEncoder;
+import kr.salm.file.service.LocalBlobStore;
+import kr.salm.file.service.MediaProbe;
+import kr.salm.file.service.PreviewClipGenerator;
+import kr.salm.file.service.ScrubSpriteGenerator;
+import kr.salm.file.service.SegmentedEncoder;
+import kr.salm.file.service.UploadInspector;
+import kr.salm.file.service.VideoFileService;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 벤치마크 공통 (Spring 컨텍스트 없이 파이프라인 구성, 시간 측정)
+ */
+public final class BenchSupport {
+
+    private BenchSupport() {}
+
+    public static VideoFileService videoFileService(Path uploadDir) {
+        return videoFileService(uploadDir, new EncodingCapacity(0.75, 0, 30));
+    }
+
+    public static VideoFileService videoFileService(Path uploadDir, EncodingCapacity capacity) {
+        FfmpegRunner runner = new FfmpegRunner();
+        MediaProbe probe = new MediaProbe(new ObjectMapper());
+        VideoFileService service = new VideoFileService(
+                runner, new HlsLadderEncoder(runner, capacity), probe, capacity,
+                new SegmentedEncoder(runner, capacity, probe), new ScrubSpriteGenerator(),
+                new PreviewClipGenerator(runner), new LocalBlobStore(uploadDir.toString(), ""),
+                new UploadInspector(probe));
+        setField(service, "uploadDir", uploadDir.toString());
+        return service;
+    }
+
+    public static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) throw new IllegalArgumentException("필드 없음: " + name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    public static void exec(List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        process.getInputStream().transferTo(java.io.OutputStream.nullOutputStream());
+        if (!process.waitFor(30, TimeUnit.MINUTES) || process.exitValue() != 0) {
+            throw new IllegalStateException("실패: " + String.join(" ", command));
+        }
+    }
+
+    /**
+     * 종료된 자식 프로세스(ffmpeg/ffprobe)의 누적 CPU 시간 (ms)
+     * - Linux /proc/self/stat 의 cutime + cstime
+     * - 지원하지 않는 환경은 -1
+     */
+    public static long childCpuMillis() {
+        try {
+            String stat = Files.readString(Paths.get("/proc/self/stat"));
+            // comm 필드에 공백이 있을 수 있으므로 ')' 이후부터 분리
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            // state 가 fields[0] (원래 3번째 필드) → cutime = 16번째, cstime = 17번째
+            long ticks = Long.parseLong(fields[13]) + Long.parseLong(fields[14]);
+            return ticks * 1000 / 100; // USER_HZ = 100
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    public static Measurement measure(ThrowingRunnable task) throws Exception {
+        long cpuBefore = childCpuMillis();
+        long start = System.nanoTime();
+        task.run();
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+        long cpuAfter = childCpuMillis();
+        long cpuMillis = cpuBefore < 0 || cpuAfter < 0 ? -1 : cpuAfter - cpuBefore;
+        return new Measurement(wallMillis, cpuMillis);
+    }
+
+    public static void deleteRecursively(Path dir) throws Exception {
+        if (!Files.exists(dir)) return;
+        try (var paths = Files.walk(dir)) {
+            for (Path p : paths.sorted(java.util.Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    public record Measurement(long wallMillis, long cpuMillis) {}
+}
@@ -0,0 +1,199 @@
+package kr.salm.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kr.salm.file.service.EncodingCapacity;
+import kr.salm.file.service.ProcessingListener;
+import kr.salm.file.service.VideoFileService;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * 인코딩 처리량 벤치마크 (실제 VideoFileService 파이프라인)
+ * - 가로/세로 × 720p/1080p/4K × 15/60/180초 합성 영상
+ * - 결과: build/bench/throughput-{label}.json (실행 설정 + 항목별 wall/CPU/출력 크기/비트레이트)
+ * - --baseline 지정 시 이전 결과와 항목별 차이 출력
+ *
+ * 사용: ./gradlew benchThroughput -PbenchArgs="--label=crf24 --resolutions=720p,1080p --durations=15,60"
+ * 옵션: --label, --orientations, --resolutions, --durations, --iterations,
+ *       --threads (ffmpeg 스레드/작업), --segment-parallel, --hls, --baseline=파일
+ */
+public class EncodingThroughputBenchmark {
+
+    private static final Map<String, int[]> RESOLUTIONS = new LinkedHashMap<>();
+    static {
+        RESOLUTIONS.put("720p", new int[]{1280, 720});
+        RESOLUTIONS.put("1080p", new int[]{1920, 1080});
+        RESOLUTIONS.put("4k", new int[]{3840, 2160});
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path outDir = Paths.get(args.length > 0 && !args[0].startsWith("--") ? args[0] : "build/bench");
+        Map<String, String> options = parseOptions(args);
+
+        String label = options.getOrDefault("label", "run");
+        List<String> orientations = list(options, "orientations", "landscape,portrait");
+        List<String> resolutions = list(options, "resolutions", "720p,1080p,4k");
+        List<Integer> durations = list(options, "durations", "15,60,180").stream().map(Integer::parseInt).toList();
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "1"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "0"));
+        boolean segmentParallel = Boolean.parseBoolean(options.getOrDefault("segment-parallel", "false"));
+        boolean hls = Boolean.parseBoolean(options.getOrDefault("hls", "false"));
+
+        Path clipDir = outDir.resolve("clips");
+        Path workDir = outDir.resolve("work");
+
+        EncodingCapacity capacity = new EncodingCapacity(0.75, threads, 30);
+        VideoFileService videoFileService = BenchSupport.videoFileService(workDir, capacity);
+        BenchSupport.setField(videoFileService, "segmentParallel", segmentParallel);
+        BenchSupport.setField(videoFileService, "segmentMinDuration", 60);
+        BenchSupport.setField(videoFileService, "hlsEnabled", hls);
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("startedAt", OffsetDateTime.now().toString());
+        report.put("host", Map.of(
+            "cores", capacity.getCores(),
+            "ffmpeg", ffmpegVersion(),
+            "java", System.getProperty("java.version")
+        ));
+        report.put("settings", Map.of(
+            "threadsPerJob", capacity.getThreadsPerJob(),
+            "segmentParallel", segmentParallel,
+            "hls", hls,
+            "iterations", iterations
+        ));
+        List<Map<String, Object>> results = new ArrayList<>();
+        report.put("results", results);
+
+        for (String orientation : orientations) {
+            for (String resolution : resolutions) {
+                for (int seconds : durations) {
+                    int[] size = RESOLUTIONS.get(resolution);
+                    if (size == null) throw new IllegalArgumentException("해상도: " + resolution);
+                    boolean portrait = "portrait".equals(orientation);
+                    SyntheticClip clip = new SyntheticClip(orientation + "-" + resolution + "-" + seconds + "s",
+                            portrait ? size[1] : size[0], portrait ? size[0] : size[1], seconds);
+                    Path source = clip.generate(clipDir);
+                    System.out.println("== " + clip.label());
+
+                    for (int i = 1; i <= iterations; i++) {
+                        VideoFileService.VideoUploadResult[] result = new VideoFileService.VideoUploadResult[1];
+                        var m = BenchSupport.measure(() -> result[0] = videoFileService.process(
+                                source, "bench", UUID.randomUUID().toString(), ProcessingListener.NONE));
+
+                        long bytes = result[0].metadata().fileSize();
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        row.put("clip", clip.name());
+                        row.put("orientation", orientation);
+                        row.put("resolution", resolution);
+                        row.put("seconds", seconds);
+                        row.put("iteration", i);
+                        row.put("wallMs", m.wallMillis());
+                        row.put("cpuMs", m.cpuMillis());
+                        row.put("outputBytes", bytes);
+                        row.put("bitrateKbps", bytes * 8 / 1000 / Math.max(1, seconds));
+                        row.put("outputWidth", result[0].metadata().width());
+                        row.put("outputHeight", result[0].metadata().height());
+                        row.put("realtimeFactor", Math.round(seconds * 1000.0 / Math.max(1, m.wallMillis()) * 100) / 100.0);
+                        results.add(row);
+
+                        System.out.printf(Locale.ROOT, "  #%d %7d ms (cpu %7d ms) %,d bytes %d kbps%n",
+                                i, m.wallMillis(), m.cpuMillis(), bytes, row.get("bitrateKbps"));
+                        BenchSupport.deleteRecursively(workDir);
+                    }
+                }
+            }
+        }
+
+        Files.createDirectories(outDir);
+        Path reportPath = outDir.resolve("throughput-" + label + ".json");
+        mapper.writeValue(reportPath.toFile(), report);
+        System.out.println("결과: " + reportPath);
+
+        if (options.containsKey("baseline")) {
+            compare(mapper.readTree(Paths.get(options.get("baseline")).toFile()), mapper.valueToTree(report));
+        }
+    }
+
+    /**
+     * 항목별 평균 비교 (음수 = 빨라짐/작아짐)
+     */
+    private static void compare(JsonNode baseline, JsonNode current) {
+        Map<String, double[]> before = averages(baseline);
+        Map<String, double[]> after = averages(current);
+
+        System.out.printf(Locale.ROOT, "%n== %s 대비 %s%n", baseline.path("label").asText(), current.path("label").asText());
+        System.out.printf(Locale.ROOT, "%-28s %10s %10s %10s%n", "clip", "wall", "cpu", "size");
+        for (var entry : after.entrySet()) {
+            double[] b = before.get(entry.getKey());
+            if (b == null) continue;
+            double[] a = entry.getValue();
+            System.out.printf(Locale.ROOT, "%-28s %+9.1f%% %+9.1f%% %+9.1f%%%n",
+                    entry.getKey(), delta(b[0], a[0]), delta(b[1], a[1]), delta(b[2], a[2]));
+        }
+    }
+
+    // clip → [wallMs, cpuMs, outputBytes] 평균
+    private static Map<String, double[]> averages(JsonNode report) {
+        Map<String, double[]> sums = new LinkedHashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        for (JsonNode row : report.path("results")) {
+            String clip = row.path("clip").asText();
+            double[] sum = sums.computeIfAbsent(clip, k -> new double[3]);
+            sum[0] += row.path("wallMs").asDouble();
+            sum[1] += row.path("cpuMs").asDouble();
+            sum[2] += row.path("outputBytes").asDouble();
+            counts.merge(clip, 1, Integer::sum);
+        }
+        sums.forEach((clip, sum) -> {
+            int n = counts.get(clip);
+            for (int i = 0; i < sum.length; i++) sum[i] /= n;
+        });
+        return sums;
+    }
+
+    private static double delta(double before, double after) {
+        return before <= 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            if (eq < 0) options.put(arg.substring(2), "true");
+            else options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static List<String> list(Map<String, String> options, String key, String defaults) {
+        return Arrays.stream(options.getOrDefault(key, defaults).split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    private static String ffmpegVersion() {
+        try {
+            Process process = new ProcessBuilder("ffmpeg", "-version").redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String first = reader.readLine();
+                reader.transferTo(java.io.Writer.nullWriter());
+                process.waitFor();
+                return first != null ? first : "unknown";
+            }
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
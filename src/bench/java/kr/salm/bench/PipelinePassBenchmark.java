@@ -0,0 +1,111 @@
+package kr.salm.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.salm.file.service.MediaProbe;
+import kr.salm.file.service.ProcessingListener;
+import kr.salm.file.service.VideoFileService;
+
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * 업로드 처리 프로세스 수 비교
+ * - legacy: ffprobe(원본) → ffmpeg(인코딩) → ffmpeg(썸네일) → ffprobe(결과)
+ * - single: ffprobe(원본) → ffmpeg(인코딩 + 썸네일 동시 출력)
+ *
+ * 사용: ./gradlew benchPipeline  (결과: build/bench/pipeline-pass.csv)
+ */
+public class PipelinePassBenchmark {
+
+    private static final int ITERATIONS = 3;
+
+    private static final List<SyntheticClip> CLIPS = List.of(
+        new SyntheticClip("landscape-1080p-15s", 1920, 1080, 15),
+        new SyntheticClip("portrait-1080p-15s", 1080, 1920, 15),
+        new SyntheticClip("landscape-4k-15s", 3840, 2160, 15)
+    );
+
+    public static void main(String[] args) throws Exception {
+        Path outDir = Paths.get(args.length > 0 ? args[0] : "build/bench");
+        Path clipDir = outDir.resolve("clips");
+        Path workDir = outDir.resolve("work");
+
+        VideoFileService videoFileService = BenchSupport.videoFileService(workDir);
+        MediaProbe probe = new MediaProbe(new ObjectMapper());
+
+        List<String> rows = new ArrayList<>();
+        rows.add("clip,mode,iteration,process_launches,wall_ms,child_cpu_ms");
+
+        for (SyntheticClip clip : CLIPS) {
+            Path source = clip.generate(clipDir);
+            System.out.println("== " + clip.label());
+
+            for (int i = 1; i <= ITERATIONS; i++) {
+                Path legacyDir = workDir.resolve("legacy");
+                var legacy = BenchSupport.measure(() -> runLegacy(probe, source, legacyDir));
+                rows.add(row(clip, "legacy", i, 4, legacy));
+
+                String fileKey = UUID.randomUUID().toString();
+                var single = BenchSupport.measure(() -> videoFileService.process(source, "bench", fileKey, ProcessingListener.NONE));
+                rows.add(row(clip, "single", i, 2, single));
+
+                System.out.printf(Locale.ROOT, "  #%d legacy %6d ms (cpu %6d ms) | single %6d ms (cpu %6d ms)%n",
+                        i, legacy.wallMillis(), legacy.cpuMillis(), single.wallMillis(), single.cpuMillis());
+                BenchSupport.deleteRecursively(workDir);
+            }
+        }
+
+        Files.createDirectories(outDir);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(outDir.resolve("pipeline-pass.csv")))) {
+            rows.forEach(out::println);
+        }
+        System.out.println("결과: " + outDir.resolve("pipeline-pass.csv"));
+    }
+
+    // 기존 VideoFileService.upload 와 동일한 4단계
+    private static void runLegacy(MediaProbe probe, Path source, Path dir) throws Exception {
+        Files.createDirectories(dir);
+        Path output = dir.resolve("legacy.mp4");
+        Path thumb = dir.resolve("legacy_thumb.jpg");
+
+        var meta = probe.probe(source).toMetadata();
+        int[] target = legacyTarget(meta.width(), meta.height());
+
+        BenchSupport.exec(List.of(
+            "ffmpeg", "-y", "-i", source.toString(),
+            "-c:v", "libx264", "-preset", "fast", "-crf", "23",
+            "-profile:v", "high", "-level", "4.1",
+            "-vf", "scale=" + target[0] + ":" + target[1],
+            "-c:a", "aac", "-b:a", "128k",
+            "-movflags", "+faststart", "-threads", "2",
+            output.toString()
+        ));
+        BenchSupport.exec(List.of(
+            "ffmpeg", "-y", "-i", output.toString(),
+            "-ss", "00:00:01", "-vframes", "1", "-vf", "scale=480:-2", "-q:v", "2",
+            thumb.toString()
+        ));
+        probe.probe(output);
+    }
+
+    private static int[] legacyTarget(int width, int height) {
+        if (width > height && width > 1080) {
+            return new int[]{1080, (int) Math.round((double) height * 1080 / width) / 2 * 2};
+        }
+        if (width <= height && height > 1920) {
+            return new int[]{(int) Math.round((double) width * 1920 / height) / 2 * 2, 1920};
+        }
+        return new int[]{width, height};
+    }
+
+    private static String row(SyntheticClip clip, String mode, int iteration, int launches, BenchSupport.Measurement m) {
+        return String.join(",", clip.name(), mode, String.valueOf(iteration), String.valueOf(launches),
+                String.valueOf(m.wallMillis()), String.valueOf(m.cpuMillis()));
+    }
+}
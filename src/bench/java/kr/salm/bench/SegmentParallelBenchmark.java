@@ -0,0 +1,69 @@
+package kr.salm.bench;
+
+import kr.salm.file.service.ProcessingListener;
+import kr.salm.file.service.VideoFileService;
+
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * 단일 ffmpeg 프로세스 vs 구간 병렬 인코딩 (긴 영상)
+ *
+ * 사용: ./gradlew benchSegments  (결과: build/bench/segment-parallel.csv)
+ */
+public class SegmentParallelBenchmark {
+
+    private static final int ITERATIONS = 2;
+
+    private static final List<SyntheticClip> CLIPS = List.of(
+        new SyntheticClip("landscape-1080p-180s", 1920, 1080, 180),
+        new SyntheticClip("landscape-4k-180s", 3840, 2160, 180)
+    );
+
+    public static void main(String[] args) throws Exception {
+        Path outDir = Paths.get(args.length > 0 ? args[0] : "build/bench");
+        Path clipDir = outDir.resolve("clips");
+        Path workDir = outDir.resolve("work");
+
+        VideoFileService videoFileService = BenchSupport.videoFileService(workDir);
+        BenchSupport.setField(videoFileService, "segmentMinDuration", 60);
+
+        List<String> rows = new ArrayList<>();
+        rows.add("clip,mode,iteration,wall_ms,child_cpu_ms,output_bytes");
+
+        for (SyntheticClip clip : CLIPS) {
+            Path source = clip.generate(clipDir);
+            System.out.println("== " + clip.label());
+
+            for (int i = 1; i <= ITERATIONS; i++) {
+                for (boolean segmented : new boolean[]{false, true}) {
+                    BenchSupport.setField(videoFileService, "segmentParallel", segmented);
+                    String fileKey = UUID.randomUUID().toString();
+                    VideoFileService.VideoUploadResult[] result = new VideoFileService.VideoUploadResult[1];
+                    var m = BenchSupport.measure(() ->
+                            result[0] = videoFileService.process(source, "bench", fileKey, ProcessingListener.NONE));
+
+                    String mode = segmented ? "segmented" : "single";
+                    long bytes = result[0].metadata().fileSize();
+                    rows.add(String.join(",", clip.name(), mode, String.valueOf(i),
+                            String.valueOf(m.wallMillis()), String.valueOf(m.cpuMillis()), String.valueOf(bytes)));
+                    System.out.printf(Locale.ROOT, "  #%d %-9s %7d ms (cpu %7d ms, %d bytes)%n",
+                            i, mode, m.wallMillis(), m.cpuMillis(), bytes);
+                    BenchSupport.deleteRecursively(workDir);
+                }
+            }
+        }
+
+        Files.createDirectories(outDir);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(outDir.resolve("segment-parallel.csv")))) {
+            rows.forEach(out::println);
+        }
+        System.out.println("결과: " + outDir.resolve("segment-parallel.csv"));
+    }
+}
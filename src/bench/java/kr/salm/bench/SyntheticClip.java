@@ -0,0 +1,34 @@
+package kr.salm.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * lavfi testsrc2 + sine 으로 만드는 결정적(bitexact) 테스트 영상
+ * - 고비트레이트(qp 10)로 만들어 리먹싱이 아닌 재인코딩 경로를 타도록 함
+ */
+public record SyntheticClip(String name, int width, int height, int seconds) {
+
+    public Path generate(Path dir) throws Exception {
+        Path out = dir.resolve(name + ".mov");
+        if (Files.exists(out)) return out;
+
+        Files.createDirectories(dir);
+        BenchSupport.exec(List.of(
+            "ffmpeg", "-y", "-v", "error",
+            "-f", "lavfi", "-i", "testsrc2=size=" + width + "x" + height + ":rate=30",
+            "-f", "lavfi", "-i", "sine=frequency=440:sample_rate=48000",
+            "-t", String.valueOf(seconds),
+            "-c:v", "libx264", "-preset", "ultrafast", "-qp", "10", "-pix_fmt", "yuv420p",
+            "-c:a", "aac", "-b:a", "128k",
+            "-fflags", "+bitexact", "-flags:v", "+bitexact", "-flags:a", "+bitexact",
+            out.toString()
+        ));
+        return out;
+    }
+
+    public String label() {
+        return name + " (" + width + "x" + height + ", " + seconds + "s)";
+    }
+}
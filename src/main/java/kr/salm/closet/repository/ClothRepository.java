@@ -33,4 +33,9 @@ public interface ClothRepository extends JpaRepository<Cloth, Long> {
     List<Cloth> findFavorites(@Param("user") User user);
     
     long countByUser(User user);
+
+    // 파일 정리: 사용 중인 이미지 (활성 또는 코디에 포함된 옷)
+    @Query("SELECT c.imagePath FROM Cloth c WHERE c.imagePath IN :paths " +
+           "AND (c.isActive = true OR EXISTS (SELECT 1 FROM OutfitCloth oc WHERE oc.cloth = c))")
+    List<String> findLiveImagePaths(@Param("paths") Collection<String> paths);
 }
@@ -9,16 +9,17 @@ import kr.salm.closet.repository.ClothCategoryRepository;
 import kr.salm.closet.repository.ClothRepository;
 import kr.salm.core.dto.PageResponse;
 import kr.salm.core.exception.BusinessException;
+import kr.salm.file.service.BlobStore;
+import kr.salm.file.service.StorageAdmission;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.file.*;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -32,9 +33,8 @@ public class ClothService {
     private final ClothRepository clothRepository;
     private final ClothCategoryRepository categoryRepository;
     private final LinkScraperService linkScraperService;
-
-    @Value("${file.upload-dir}")
-    private String uploadDir;
+    private final BlobStore blobStore;
+    private final StorageAdmission storageAdmission;
 
     @Transactional
     public Cloth create(ClothRequest request, MultipartFile image, User user) {
@@ -45,7 +45,7 @@ public class ClothService {
         String name = request.getName();
 
         if (image != null && !image.isEmpty()) {
-            imagePath = saveImage(image);
+            imagePath = saveImage(image, user.getId());
         } else if (request.getProductUrl() != null && !request.getProductUrl().isBlank()) {
             var scraped = linkScraperService.scrape(request.getProductUrl());
             if (scraped != null) {
@@ -160,18 +160,21 @@ public class ClothService {
         cloth.setIsActive(false);
     }
 
-    private String saveImage(MultipartFile file) {
-        try {
-            String ext = getExtension(file.getOriginalFilename());
-            String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-            String filename = UUID.randomUUID() + "." + ext;
-            Path path = Paths.get(uploadDir, "clothes", datePath, filename);
-            Files.createDirectories(path.getParent());
-            file.transferTo(path.toFile());
-            return "/clothes/" + datePath + "/" + filename;
+    private String saveImage(MultipartFile file, Long userId) {
+        String ext = getExtension(file.getOriginalFilename());
+        String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        String filename = UUID.randomUUID() + "." + ext;
+        String key = "clothes/" + datePath + "/" + filename;
+
+        storageAdmission.reserveFile(key, userId, file.getSize());
+        try (InputStream in = file.getInputStream()) {
+            blobStore.put(key, in, file.getSize());
+            return "/" + key;
         } catch (Exception e) {
             log.error("이미지 저장 실패: {}", e.getMessage());
             throw BusinessException.badRequest("이미지 저장에 실패했습니다.");
+        } finally {
+            storageAdmission.release(key);
         }
     }
 
@@ -1,5 +1,7 @@
 package kr.salm.community.controller;
 
+import kr.salm.auth.entity.User;
+import kr.salm.auth.service.AuthUtil;
 import kr.salm.community.service.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -14,18 +16,23 @@ public class MainController {
 
     @GetMapping("/")
     public String home(Model model) {
+        User user = AuthUtil.getCurrentUser();
         model.addAttribute("categories", categoryService.findAll());
-        model.addAttribute("latestVideos", videoService.findLatest(8));
-        model.addAttribute("popularVideos", videoService.findPopular(4));
+        model.addAttribute("latestVideos", videoService.findLatest(8, user));
+        model.addAttribute("popularVideos", videoService.findPopular(4, user));
         return "index";
     }
 
     @GetMapping("/category/{slug}")
     public String category(@PathVariable String slug,
                           @RequestParam(defaultValue = "0") int page, Model model) {
+        User user = AuthUtil.getCurrentUser();
         model.addAttribute("categories", categoryService.findAll());
         model.addAttribute("currentCategory", categoryService.findBySlug(slug));
-        model.addAttribute("videos", videoService.findByCategory(slug, page, 12));
+        model.addAttribute("videos", videoService.findByCategory(slug, page, 12, user));
+        if (page == 0) {
+            model.addAttribute("popularVideos", videoService.findTrending(slug, 4, user));
+        }
         return "community/videos";
     }
 }
@@ -0,0 +1,38 @@
+package kr.salm.community.controller;
+
+import kr.salm.auth.entity.User;
+import kr.salm.auth.service.AuthUtil;
+import kr.salm.community.dto.VideoResponse;
+import kr.salm.community.service.TagService;
+import kr.salm.core.dto.ApiResponse;
+import kr.salm.core.dto.CursorResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tags")
+@RequiredArgsConstructor
+public class TagApiController {
+
+    private static final int MAX_SIZE = 50;
+
+    private final TagService tagService;
+
+    @GetMapping("/top")
+    public ResponseEntity<ApiResponse<List<TagService.TagCount>>> top(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(tagService.topTags(Math.max(1, Math.min(limit, MAX_SIZE)))));
+    }
+
+    @GetMapping("/{tag}/videos")
+    public ResponseEntity<ApiResponse<CursorResponse<VideoResponse>>> videos(
+            @PathVariable String tag,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size) {
+        User user = AuthUtil.getCurrentUser();
+        return ResponseEntity.ok(ApiResponse.success(tagService.findVideos(tag, cursor, Math.max(1, Math.min(size, MAX_SIZE)), user)));
+    }
+}
@@ -1,16 +1,23 @@
 package kr.salm.community.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import kr.salm.auth.entity.User;
 import kr.salm.auth.service.AuthUtil;
 import kr.salm.community.dto.*;
+import kr.salm.community.entity.Video;
 import kr.salm.community.service.*;
 import kr.salm.core.dto.ApiResponse;
 import kr.salm.core.dto.PageResponse;
+import kr.salm.file.service.EncodingProgressRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 
 @RestController
@@ -22,22 +29,71 @@ public class VideoApiController {
     private final LikeService likeService;
     private final BookmarkService bookmarkService;
     private final CommentService commentService;
+    private final EncodingProgressRegistry progressRegistry;
 
+    private static final int MAX_FEED_SIZE = 50;
+
+    /**
+     * 영상 목록
+     * - cursor 파라미터가 있으면 커서 페이지 (빈 값 = 첫 페이지, 응답의 nextCursor 로 이어서 요청)
+     * - 없으면 기존 page 번호 방식
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<VideoResponse>>> list(
+    public ResponseEntity<ApiResponse<?>> list(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
-            @RequestParam(required = false) String category) {
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor) {
+        User user = AuthUtil.getCurrentUser();
+        if (cursor != null) {
+            int limit = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+            return ResponseEntity.ok(ApiResponse.success(videoService.findFeed(category, cursor, limit, user)));
+        }
         PageResponse<VideoResponse> videos = category != null ?
-                videoService.findByCategory(category, page, size) :
-                videoService.findAll(page, size);
+                videoService.findByCategory(category, page, size, user) :
+                videoService.findAll(page, size, user);
         return ResponseEntity.ok(ApiResponse.success(videos));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<VideoResponse>> detail(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<VideoResponse>> detail(@PathVariable Long id, HttpServletRequest request) {
         User user = AuthUtil.getCurrentUser();
-        return ResponseEntity.ok(ApiResponse.success(videoService.getDetail(id, user)));
+        String viewerKey = UniqueViewerCounter.viewerKey(user, request);
+        return ResponseEntity.ok(ApiResponse.success(videoService.getDetail(id, user, viewerKey)));
+    }
+
+    /**
+     * 인코딩 진행률 (SSE)
+     * - 처리 중이 아니면 DB 상태 한 번 보내고 종료
+     */
+    @GetMapping(value = "/{id}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter progress(@PathVariable Long id) {
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(30).toMillis());
+
+        Runnable unsubscribe = progressRegistry.subscribe(id, progress -> {
+            try {
+                emitter.send(SseEmitter.event().name("progress").data(progress));
+                if (progress.isTerminal()) emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        var current = progressRegistry.get(id).orElseGet(() -> {
+            Video video = videoService.findByIdWithoutView(id);
+            return new EncodingProgressRegistry.EncodingProgress(id, video.getStatus(),
+                    video.isReady() ? 100 : 0, null);
+        });
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(current));
+            if (current.isTerminal()) emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
     }
 
     @PostMapping("/{id}/like")
@@ -47,11 +103,10 @@ public class VideoApiController {
             return ResponseEntity.status(401).body(ApiResponse.error("UNAUTHORIZED", "로그인이 필요합니다."));
         }
         
-        boolean liked = likeService.toggle(id, user);
-        var video = videoService.findByIdWithoutView(id);
+        LikeService.LikeResult result = likeService.toggle(id, user);
         return ResponseEntity.ok(ApiResponse.success(Map.of(
-                "liked", liked,
-                "likeCount", video.getLikeCount()
+                "liked", result.liked(),
+                "likeCount", result.likeCount()
         )));
     }
 
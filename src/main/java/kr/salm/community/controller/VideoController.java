@@ -1,13 +1,18 @@
 package kr.salm.community.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import kr.salm.auth.entity.User;
 import kr.salm.auth.service.AuthUtil;
 import kr.salm.community.dto.VideoUploadRequest;
 import kr.salm.community.entity.Video;
 import kr.salm.community.service.*;
+import kr.salm.core.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -27,20 +32,21 @@ public class VideoController {
     @GetMapping
     public String list(@RequestParam(defaultValue = "0") int page,
                       @RequestParam(required = false) String keyword, Model model) {
+        User user = AuthUtil.getCurrentUser();
         model.addAttribute("categories", categoryService.findAll());
         if (keyword != null && !keyword.isBlank()) {
-            model.addAttribute("videos", videoService.search(keyword, page, 12));
+            model.addAttribute("videos", videoService.search(keyword, page, 12, user));
             model.addAttribute("keyword", keyword);
         } else {
-            model.addAttribute("videos", videoService.findAll(page, 12));
+            model.addAttribute("videos", videoService.findAll(page, 12, user));
         }
         return "community/videos";
     }
 
     @GetMapping("/{id}")
-    public String detail(@PathVariable Long id, Model model) {
+    public String detail(@PathVariable Long id, HttpServletRequest request, Model model) {
         User user = AuthUtil.getCurrentUser();
-        model.addAttribute("video", videoService.getDetail(id, user));
+        model.addAttribute("video", videoService.getDetail(id, user, UniqueViewerCounter.viewerKey(user, request)));
         return "community/video-detail";
     }
 
@@ -55,7 +61,7 @@ public class VideoController {
     public String upload(@Valid @ModelAttribute("request") VideoUploadRequest request,
                         BindingResult bindingResult,
                         @RequestParam("videoFile") MultipartFile videoFile,
-                        RedirectAttributes redirectAttributes, Model model) {
+                        RedirectAttributes redirectAttributes, HttpServletResponse response, Model model) {
         
         User user = AuthUtil.getCurrentUser();
         if (user == null) {
@@ -69,8 +75,20 @@ public class VideoController {
 
         try {
             Video video = videoService.upload(request, videoFile, user);
-            redirectAttributes.addFlashAttribute("message", "영상이 업로드되었습니다.");
+            redirectAttributes.addFlashAttribute("message", "영상이 업로드되었습니다. 처리가 끝나면 재생할 수 있습니다.");
             return "redirect:/videos/" + video.getId();
+        } catch (BusinessException e) {
+            // 대기열이 가득 찬 경우 폼을 다시 보여주되 503 + Retry-After 는 그대로 전달
+            if (e.getStatus() == HttpStatus.SERVICE_UNAVAILABLE) {
+                response.setStatus(e.getStatus().value());
+                if (e.getRetryAfterSeconds() != null) {
+                    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+                }
+            }
+            log.warn("업로드 거절: {}", e.getMessage());
+            model.addAttribute("error", e.getMessage());
+            model.addAttribute("categories", categoryService.findAll());
+            return "community/upload";
         } catch (Exception e) {
             log.error("업로드 실패: {}", e.getMessage());
             model.addAttribute("error", e.getMessage());
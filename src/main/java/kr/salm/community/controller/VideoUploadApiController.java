@@ -0,0 +1,133 @@
+package kr.salm.community.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import kr.salm.auth.entity.User;
+import kr.salm.auth.service.AuthUtil;
+import kr.salm.community.dto.VideoUploadRequest;
+import kr.salm.community.service.VideoService;
+import kr.salm.core.dto.ApiResponse;
+import kr.salm.core.exception.BusinessException;
+import kr.salm.file.service.ChunkedUploadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 이어받기 가능한 분할 업로드 API (tus 1.0 방식)
+ * - POST   /api/uploads               (Upload-Length, Upload-Metadata: filename base64)
+ * - HEAD   /api/uploads/{id}          → Upload-Offset
+ * - PATCH  /api/uploads/{id}          (Upload-Offset, application/offset+octet-stream)
+ * - DELETE /api/uploads/{id}
+ * - POST   /api/uploads/{id}/complete → 영상 등록 + 인코딩
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+public class VideoUploadApiController {
+
+    private static final String TUS_RESUMABLE = "1.0.0";
+
+    private final ChunkedUploadService chunkedUploadService;
+    private final VideoService videoService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> create(
+            @RequestHeader("Upload-Length") long length,
+            @RequestHeader(value = "Upload-Metadata", required = false) String metadata) {
+        User user = AuthUtil.getCurrentUser();
+        if (user == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("UNAUTHORIZED", "로그인이 필요합니다."));
+        }
+
+        String filename = parseMetadata(metadata).get("filename");
+        var upload = chunkedUploadService.create(user.getId(), filename, length);
+        return ResponseEntity.created(URI.create("/api/uploads/" + upload.uploadId()))
+                .header("Tus-Resumable", TUS_RESUMABLE)
+                .header("Upload-Offset", "0")
+                .body(ApiResponse.success(Map.of("uploadId", upload.uploadId(), "offset", 0L)));
+    }
+
+    @RequestMapping(value = "/{uploadId}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> offset(@PathVariable String uploadId) {
+        User user = AuthUtil.getCurrentUser();
+        if (user == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        var upload = chunkedUploadService.get(uploadId, user.getId());
+        return ResponseEntity.ok()
+                .header("Tus-Resumable", TUS_RESUMABLE)
+                .header("Upload-Offset", String.valueOf(upload.offset()))
+                .header("Upload-Length", String.valueOf(upload.length()))
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .build();
+    }
+
+    @PatchMapping(value = "/{uploadId}", consumes = "application/offset+octet-stream")
+    public ResponseEntity<Void> append(@PathVariable String uploadId,
+                                       @RequestHeader("Upload-Offset") long offset,
+                                       HttpServletRequest request) throws IOException {
+        User user = AuthUtil.getCurrentUser();
+        if (user == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        long newOffset = chunkedUploadService.append(uploadId, user.getId(), offset, request.getInputStream());
+        return ResponseEntity.noContent()
+                .header("Tus-Resumable", TUS_RESUMABLE)
+                .header("Upload-Offset", String.valueOf(newOffset))
+                .build();
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> cancel(@PathVariable String uploadId) {
+        User user = AuthUtil.getCurrentUser();
+        if (user == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        chunkedUploadService.cancel(uploadId, user.getId());
+        return ResponseEntity.noContent().header("Tus-Resumable", TUS_RESUMABLE).build();
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> complete(
+            @PathVariable String uploadId,
+            @Valid @RequestBody VideoUploadRequest request) {
+        User user = AuthUtil.getCurrentUser();
+        if (user == null) {
+            return ResponseEntity.status(401).body(ApiResponse.error("UNAUTHORIZED", "로그인이 필요합니다."));
+        }
+
+        var video = videoService.uploadChunked(request, uploadId, user);
+        return ResponseEntity.ok(ApiResponse.success(Map.of(
+                "videoId", video.getId(),
+                "status", video.getStatus().name()
+        )));
+    }
+
+    // "filename ZXhhbXBsZS5tcDQ=,foo YmFy" → {filename=example.mp4, foo=bar}
+    private Map<String, String> parseMetadata(String header) {
+        Map<String, String> result = new HashMap<>();
+        if (header == null || header.isBlank()) return result;
+
+        for (String pair : header.split(",")) {
+            String[] kv = pair.trim().split(" ", 2);
+            if (kv.length == 2) {
+                try {
+                    result.put(kv[0], new String(Base64.getDecoder().decode(kv[1]), StandardCharsets.UTF_8));
+                } catch (IllegalArgumentException e) {
+                    throw BusinessException.badRequest("Upload-Metadata 형식이 올바르지 않습니다.");
+                }
+            }
+        }
+        return result;
+    }
+}
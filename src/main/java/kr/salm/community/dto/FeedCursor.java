@@ -0,0 +1,39 @@
+package kr.salm.community.dto;
+
+import kr.salm.community.entity.Video;
+import kr.salm.core.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 피드 커서: 마지막 항목의 (createdAt, id)
+ * - 클라이언트에는 base64url 문자열로만 노출
+ */
+public record FeedCursor(LocalDateTime createdAt, Long id) {
+
+    public static FeedCursor of(Video video) {
+        return new FeedCursor(video.getCreatedAt(), video.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 빈 값이면 null (첫 페이지)
+     */
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int bar = raw.indexOf('|');
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, bar)), Long.valueOf(raw.substring(bar + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw BusinessException.badRequest("잘못된 커서입니다.");
+        }
+    }
+}
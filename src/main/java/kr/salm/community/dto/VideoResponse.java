@@ -22,13 +22,19 @@ public class VideoResponse {
     private String categorySlug;
     private String videoPath;
     private String thumbnailPath;
+    private String manifestPath;
+    private String spritePath;
+    private String spriteVttPath;
+    private String previewPath;
     private Integer duration;
     private Integer width;
     private Integer height;
     private Long fileSize;
+    private String status;
     private String hashtags;
     private String productUrl;
     private int viewCount;
+    private int uniqueViewers;
     private int likeCount;
     private int commentCount;
     private LocalDateTime createdAt;
@@ -51,13 +57,19 @@ public class VideoResponse {
                 .categorySlug(v.getCategory().getSlug())
                 .videoPath(v.getVideoPath())
                 .thumbnailPath(v.getThumbnailPath())
+                .manifestPath(v.getManifestPath())
+                .spritePath(v.getSpritePath())
+                .spriteVttPath(v.getSpriteVttPath())
+                .previewPath(v.getPreviewPath())
                 .duration(v.getDuration())
                 .width(v.getWidth())
                 .height(v.getHeight())
                 .fileSize(v.getFileSize())
+                .status(v.getStatus() != null ? v.getStatus().name() : null)
                 .hashtags(v.getHashtags())
                 .productUrl(v.getProductUrl())
                 .viewCount(v.getViewCount())
+                .uniqueViewers(v.getUniqueViewers())
                 .likeCount(v.getLikeCount())
                 .commentCount(v.getCommentCount())
                 .createdAt(v.getCreatedAt())
@@ -66,6 +78,14 @@ public class VideoResponse {
                 .build();
     }
 
+    public boolean isReady() {
+        return status == null || "READY".equals(status);
+    }
+
+    public boolean isFailed() {
+        return "FAILED".equals(status);
+    }
+
     public String getFormattedDuration() {
         if (duration == null || duration == 0) return "0:00";
         int m = duration / 60;
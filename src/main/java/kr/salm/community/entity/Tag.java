@@ -0,0 +1,29 @@
+package kr.salm.community.entity;
+
+import jakarta.persistence.*;
+import kr.salm.core.entity.BaseEntity;
+import lombok.*;
+
+@Entity
+@Table(name = "tags", indexes = {
+    @Index(name = "idx_tag_video_count", columnList = "video_count DESC")
+})
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Tag extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 정규화된 태그명 (# 제외, 소문자)
+    @Column(nullable = false, unique = true, length = 50)
+    private String name;
+
+    // 태그가 달린 영상 수 (삭제/실패 영상 제외)
+    @Column(nullable = false)
+    @Builder.Default
+    private Long videoCount = 0L;
+}
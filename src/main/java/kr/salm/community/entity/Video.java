@@ -3,13 +3,20 @@ package kr.salm.community.entity;
 import jakarta.persistence.*;
 import kr.salm.auth.entity.User;
 import kr.salm.core.entity.BaseEntity;
+import kr.salm.file.entity.StorageTier;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "videos", indexes = {
     @Index(name = "idx_video_author", columnList = "author_id"),
     @Index(name = "idx_video_category", columnList = "category_id"),
-    @Index(name = "idx_video_created", columnList = "created_at DESC")
+    @Index(name = "idx_video_created", columnList = "created_at DESC"),
+    @Index(name = "idx_video_feed", columnList = "deleted, created_at, id"),
+    @Index(name = "idx_video_category_feed", columnList = "category_id, deleted, created_at, id"),
+    @Index(name = "idx_video_content_hash", columnList = "content_hash"),
+    @Index(name = "idx_video_path", columnList = "video_path")
 })
 @Getter @Setter
 @NoArgsConstructor
@@ -42,6 +49,21 @@ public class Video extends BaseEntity {
     @Column(length = 500)
     private String thumbnailPath;
 
+    // HLS 마스터 플레이리스트 (적응형 스트리밍)
+    @Column(length = 500)
+    private String manifestPath;
+
+    // 탐색 미리보기 스프라이트 / WebVTT 썸네일 트랙
+    @Column(length = 500)
+    private String spritePath;
+
+    @Column(length = 500)
+    private String spriteVttPath;
+
+    // 피드 미리보기 클립 (무음, 3초)
+    @Column(length = 500)
+    private String previewPath;
+
     @Column
     private Integer duration;  // 초
 
@@ -54,6 +76,23 @@ public class Video extends BaseEntity {
     @Column
     private Long fileSize;
 
+    // 저장 계층 (오래 안 본 영상은 COLD)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(10) DEFAULT 'HOT'") @Builder.Default
+    private StorageTier storageTier = StorageTier.HOT;
+
+    @Column
+    private LocalDateTime lastViewedAt;
+
+    // 업로드 원본 SHA-256 (video_blobs 참조)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // 처리 상태 (기존 행은 READY)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(20) DEFAULT 'READY'") @Builder.Default
+    private VideoStatus status = VideoStatus.READY;
+
     // 해시태그
     @Column(length = 500)
     private String hashtags;
@@ -72,16 +111,18 @@ public class Video extends BaseEntity {
     @Column(nullable = false) @Builder.Default
     private int commentCount = 0;
 
+    // 고유 시청자 추정치 (UniqueViewerCounter 가 주기적으로 갱신)
+    @Column(nullable = false, columnDefinition = "INT DEFAULT 0") @Builder.Default
+    private int uniqueViewers = 0;
+
     @Column(nullable = false) @Builder.Default
     private boolean deleted = false;
 
     public void incrementViewCount() { this.viewCount++; }
-    public void incrementLikeCount() { this.likeCount++; }
-    public void decrementLikeCount() { if (this.likeCount > 0) this.likeCount--; }
-    public void incrementCommentCount() { this.commentCount++; }
-    public void decrementCommentCount() { if (this.commentCount > 0) this.commentCount--; }
     public void softDelete() { this.deleted = true; }
 
+    public boolean isReady() { return status == VideoStatus.READY; }
+
     public String getCategoryName() { return category != null ? category.getName() : null; }
     public String getCategorySlug() { return category != null ? category.getSlug() : null; }
 
@@ -0,0 +1,44 @@
+package kr.salm.community.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 인기 순위 스냅샷 (TrendingService 가 주기적으로 통째로 교체)
+ * - scopeId: 0 = 전체, 그 외 카테고리 ID
+ */
+@Entity
+@Table(name = "video_rankings", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_video_ranking", columnNames = {"scope_id", "ranking"})
+})
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoRanking {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @Column(nullable = false)
+    private Integer ranking;
+
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    // computedAt 기준 감쇠 점수
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,17 @@
+package kr.salm.community.entity;
+
+/**
+ * 영상 처리 상태
+ * - PENDING: 원본 저장 완료, 인코딩 대기
+ * - PROBING: 메타데이터 분석 중
+ * - ENCODING: 웹 최적화 인코딩 중
+ * - READY: 서비스 가능
+ * - FAILED: 처리 실패
+ */
+public enum VideoStatus {
+    PENDING, PROBING, ENCODING, READY, FAILED;
+
+    public boolean isProcessing() {
+        return this == PENDING || this == PROBING || this == ENCODING;
+    }
+}
@@ -0,0 +1,31 @@
+package kr.salm.community.entity;
+
+import jakarta.persistence.*;
+import kr.salm.core.entity.BaseEntity;
+import lombok.*;
+
+@Entity
+@Table(name = "video_tags", uniqueConstraints = {
+    // 태그별 영상 목록을 (tag_id, video_id) 순서로 읽음
+    @UniqueConstraint(name = "uk_video_tag", columnNames = {"tag_id", "video_id"})
+}, indexes = {
+    @Index(name = "idx_video_tag_video", columnList = "video_id")
+})
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoTag extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "video_id", nullable = false)
+    private Video video;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tag_id", nullable = false)
+    private Tag tag;
+}
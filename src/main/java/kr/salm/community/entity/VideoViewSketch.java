@@ -0,0 +1,25 @@
+package kr.salm.community.entity;
+
+import jakarta.persistence.*;
+import kr.salm.core.entity.BaseEntity;
+import lombok.*;
+
+/**
+ * 영상별 고유 시청자 HyperLogLog 레지스터 (4KB)
+ * - videos 조회 때 함께 읽히지 않도록 별도 테이블
+ */
+@Entity
+@Table(name = "video_view_sketches")
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoViewSketch extends BaseEntity {
+
+    @Id
+    @Column(name = "video_id")
+    private Long videoId;
+
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] sketch;
+}
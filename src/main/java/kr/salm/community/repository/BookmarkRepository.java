@@ -4,10 +4,26 @@ import kr.salm.auth.entity.User;
 import kr.salm.community.entity.Bookmark;
 import kr.salm.community.entity.Video;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.*;
 
 public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     Optional<Bookmark> findByVideoAndUser(Video video, User user);
     boolean existsByVideoAndUser(Video video, User user);
     void deleteByVideoAndUser(Video video, User user);
+
+    // unique (video_id, user_id) 에 맡기는 멱등 추가 (이미 있으면 0)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO bookmarks (video_id, user_id, created_at, updated_at) VALUES (:videoId, :userId, NOW(), NOW())", nativeQuery = true)
+    int insertIgnore(@Param("videoId") Long videoId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Bookmark b WHERE b.video.id = :videoId AND b.user.id = :userId")
+    int deleteByIds(@Param("videoId") Long videoId, @Param("userId") Long userId);
+
+    // 피드 한 페이지의 저장 여부 (IN 한 번)
+    @Query("SELECT b.video.id FROM Bookmark b WHERE b.user.id = :userId AND b.video.id IN :videoIds")
+    List<Long> findVideoIdsByUser(@Param("userId") Long userId, @Param("videoIds") Collection<Long> videoIds);
 }
@@ -0,0 +1,30 @@
+package kr.salm.community.repository;
+
+import kr.salm.community.entity.Tag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.*;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    Optional<Tag> findByName(String name);
+
+    List<Tag> findByNameIn(Collection<String> names);
+
+    // 동시 업로드에서 같은 태그가 생겨도 unique 충돌 없이 하나만 남김
+    @Modifying
+    @Query(value = "INSERT INTO tags (name, video_count, created_at, updated_at) VALUES (:name, 0, NOW(), NOW()) " +
+                   "ON DUPLICATE KEY UPDATE name = name", nativeQuery = true)
+    void insertIgnore(@Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE Tag t SET t.videoCount = t.videoCount + :delta WHERE t.id IN :ids")
+    int addVideoCount(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+
+    @Query("SELECT t.name, t.videoCount FROM Tag t WHERE t.videoCount > 0 ORDER BY t.videoCount DESC")
+    List<Object[]> findTopCounts(Pageable pageable);
+}
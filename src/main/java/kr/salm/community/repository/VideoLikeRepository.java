@@ -3,11 +3,31 @@ package kr.salm.community.repository;
 import kr.salm.auth.entity.User;
 import kr.salm.community.entity.Video;
 import kr.salm.community.entity.VideoLike;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.*;
 
 public interface VideoLikeRepository extends JpaRepository<VideoLike, Long> {
     Optional<VideoLike> findByVideoAndUser(Video video, User user);
     boolean existsByVideoAndUser(Video video, User user);
     void deleteByVideoAndUser(Video video, User user);
+
+    // unique (video_id, user_id) 에 맡기는 멱등 추가 (이미 있으면 0)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO video_likes (video_id, user_id, created_at, updated_at) VALUES (:videoId, :userId, NOW(), NOW())", nativeQuery = true)
+    int insertIgnore(@Param("videoId") Long videoId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM VideoLike l WHERE l.video.id = :videoId AND l.user.id = :userId")
+    int deleteByIds(@Param("videoId") Long videoId, @Param("userId") Long userId);
+
+    // 피드 한 페이지의 좋아요 여부 (IN 한 번)
+    @Query("SELECT l.video.id FROM VideoLike l WHERE l.user.id = :userId AND l.video.id IN :videoIds")
+    List<Long> findVideoIdsByUser(@Param("userId") Long userId, @Param("videoIds") Collection<Long> videoIds);
+
+    @Query("SELECT l.video.id FROM VideoLike l WHERE l.user.id = :userId")
+    List<Long> findAllVideoIdsByUser(@Param("userId") Long userId, Pageable pageable);
 }
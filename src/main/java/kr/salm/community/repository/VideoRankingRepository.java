@@ -0,0 +1,13 @@
+package kr.salm.community.repository;
+
+import kr.salm.community.entity.VideoRanking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface VideoRankingRepository extends JpaRepository<VideoRanking, Long> {
+
+    @Modifying
+    @Query("DELETE FROM VideoRanking r")
+    int deleteAllRankings();
+}
@@ -3,32 +3,109 @@ package kr.salm.community.repository;
 import kr.salm.auth.entity.User;
 import kr.salm.community.entity.Category;
 import kr.salm.community.entity.Video;
+import kr.salm.file.entity.StorageTier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.*;
 
 public interface VideoRepository extends JpaRepository<Video, Long> {
 
-    @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.deleted = false ORDER BY v.createdAt DESC")
+    @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.deleted = false AND v.status = kr.salm.community.entity.VideoStatus.READY ORDER BY v.createdAt DESC")
     Page<Video> findAllActive(Pageable pageable);
 
-    @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.deleted = false AND v.category = :category ORDER BY v.createdAt DESC")
+    @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.deleted = false AND v.status = kr.salm.community.entity.VideoStatus.READY AND v.category = :category ORDER BY v.createdAt DESC")
     Page<Video> findByCategory(@Param("category") Category category, Pageable pageable);
 
+    // 커서 피드 (idx_video_feed / idx_video_category_feed 에서 (createdAt, id) 다음 위치부터 읽음, count 없음)
+    @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.deleted = false AND v.status = kr.salm.community.entity.VideoStatus.READY ORDER BY v.createdAt DESC, v.id DESC")
+    List<Video> findFeed(Pageable pageable);
+
+    @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.deleted = false AND v.status = kr.salm.community.entity.VideoStatus.READY " +
+           "AND (v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.id < :id)) ORDER BY v.createdAt DESC, v.id DESC")
+    List<Video> findFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.category = :category AND v.deleted = false AND v.status = kr.salm.community.entity.VideoStatus.READY ORDER BY v.createdAt DESC, v.id DESC")
+    List<Video> findCategoryFeed(@Param("category") Category category, Pageable pageable);
+
+    @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.category = :category AND v.deleted = false AND v.status = kr.salm.community.entity.VideoStatus.READY " +
+           "AND (v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.id < :id)) ORDER BY v.createdAt DESC, v.id DESC")
+    List<Video> findCategoryFeedAfter(@Param("category") Category category, @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id, Pageable pageable);
+
     @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.id = :id AND v.deleted = false")
     Optional<Video> findActiveById(@Param("id") Long id);
 
-    @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.deleted = false AND (v.title LIKE %:keyword% OR v.description LIKE %:keyword%) ORDER BY v.createdAt DESC")
-    Page<Video> search(@Param("keyword") String keyword, Pageable pageable);
+    // 검색 결과 ID 로 조회 (순서는 호출 측에서 맞춤)
+    @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.id IN :ids AND v.deleted = false AND v.status = kr.salm.community.entity.VideoStatus.READY")
+    List<Video> findActiveByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 검색 색인 반영 대상 (since 가 null 이면 전체, 삭제/비공개 포함)
+    @Query("SELECT v FROM Video v WHERE (:since IS NULL OR v.updatedAt >= :since) AND v.id > :afterId ORDER BY v.id")
+    List<Video> findForIndex(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * COLD 이동 대상: 같은 파일을 쓰는 영상 모두 cutoff 이후 조회가 없음
+     * @return [videoPath, manifestPath]
+     */
+    @Query("SELECT v.videoPath, MAX(v.manifestPath) FROM Video v " +
+           "WHERE v.status = kr.salm.community.entity.VideoStatus.READY AND v.storageTier = kr.salm.file.entity.StorageTier.HOT " +
+           "GROUP BY v.videoPath HAVING MAX(COALESCE(v.lastViewedAt, v.createdAt)) < :cutoff")
+    List<Object[]> findTieringCandidates(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // 파일 정리: 삭제되지 않은 영상의 [videoPath, status]
+    @Query("SELECT v.videoPath, v.status FROM Video v WHERE v.videoPath IN :paths AND v.deleted = false")
+    List<Object[]> findLiveVideoPaths(@Param("paths") Collection<String> paths);
+
+    // 인기 순위 초기값: 최근 공개 영상의 [id, categoryId, viewCount, likeCount, commentCount, createdAt]
+    @Query("SELECT v.id, v.category.id, v.viewCount, v.likeCount, v.commentCount, v.createdAt, v.uniqueViewers FROM Video v " +
+           "WHERE v.deleted = false AND v.status = kr.salm.community.entity.VideoStatus.READY AND v.createdAt >= :since")
+    List<Object[]> findTrendingSeed(@Param("since") LocalDateTime since);
+
+    // [id, categoryId] (고유 시청자 증가분 → 인기 순위)
+    @Query("SELECT v.id, v.category.id FROM Video v WHERE v.id IN :ids AND v.deleted = false")
+    List<Object[]> findCategoryIds(@Param("ids") Collection<Long> ids);
+
+    // 좋아요 수 원자적 증감 (반영된 값은 같은 연결에서 lastInsertId() 로 읽음)
+    @Modifying
+    @Query(value = "UPDATE videos SET like_count = LAST_INSERT_ID(GREATEST(like_count + :delta, 0)) WHERE id = :id", nativeQuery = true)
+    int addLikeCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    long lastInsertId();
+
+    @Query("SELECT v.likeCount FROM Video v WHERE v.id = :id")
+    int findLikeCount(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Video v SET v.commentCount = v.commentCount + :delta WHERE v.id = :id AND v.commentCount + :delta >= 0")
+    int addCommentCount(@Param("id") Long id, @Param("delta") int delta);
+
+    // 삭제 선점 (동시 삭제 요청 중 한 건만 1 반환)
+    @Modifying
+    @Query("UPDATE Video v SET v.deleted = true WHERE v.id = :id AND v.deleted = false")
+    int markDeleted(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Video v SET v.uniqueViewers = :count WHERE v.id = :id")
+    int updateUniqueViewers(@Param("id") Long id, @Param("count") int count);
+
+    // 미디어 전송: 이 경로를 쓰는 공개 영상이 하나라도 있는지 (공유 blob 은 여러 영상이 같은 경로)
+    @Query("SELECT COUNT(v) > 0 FROM Video v WHERE v.videoPath = :videoPath AND v.deleted = false AND v.status = kr.salm.community.entity.VideoStatus.READY")
+    boolean existsServableByVideoPath(@Param("videoPath") String videoPath);
 
-    @Query("SELECT v FROM Video v JOIN FETCH v.category JOIN FETCH v.author WHERE v.deleted = false ORDER BY v.likeCount DESC, v.createdAt DESC")
-    List<Video> findPopular(Pageable pageable);
+    // 업로드 한도: 사용자의 삭제되지 않은 영상 용량 합계
+    @Query("SELECT COALESCE(SUM(v.fileSize), 0) FROM Video v WHERE v.author.id = :userId AND v.deleted = false")
+    long sumFileSizeByAuthor(@Param("userId") Long userId);
 
+    @Transactional
     @Modifying
-    @Query("UPDATE Video v SET v.viewCount = v.viewCount + 1 WHERE v.id = :id")
-    void incrementViewCount(@Param("id") Long id);
+    @Query("UPDATE Video v SET v.storageTier = :tier WHERE v.videoPath = :videoPath")
+    int updateStorageTier(@Param("videoPath") String videoPath, @Param("tier") StorageTier tier);
 }
@@ -0,0 +1,35 @@
+package kr.salm.community.repository;
+
+import kr.salm.community.entity.Tag;
+import kr.salm.community.entity.Video;
+import kr.salm.community.entity.VideoTag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.*;
+
+public interface VideoTagRepository extends JpaRepository<VideoTag, Long> {
+
+    @Query("SELECT vt.tag.id FROM VideoTag vt WHERE vt.video.id = :videoId")
+    List<Long> findTagIdsByVideoId(@Param("videoId") Long videoId);
+
+    @Modifying
+    @Query("DELETE FROM VideoTag vt WHERE vt.video.id = :videoId")
+    int deleteByVideoId(@Param("videoId") Long videoId);
+
+    // 태그별 영상 (uk_video_tag 에서 video_id 역순으로 읽음, beforeId 는 이전 페이지 마지막 ID)
+    @Query("SELECT v FROM VideoTag vt JOIN vt.video v JOIN FETCH v.category JOIN FETCH v.author " +
+           "WHERE vt.tag = :tag AND vt.video.id < :beforeId AND v.deleted = false AND v.status = kr.salm.community.entity.VideoStatus.READY " +
+           "ORDER BY vt.video.id DESC")
+    List<Video> findVideos(@Param("tag") Tag tag, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // 백필 대상: 해시태그가 있는데 태그 연결이 없는 영상
+    @Query("SELECT v FROM Video v WHERE v.id > :afterId AND v.deleted = false " +
+           "AND v.status <> kr.salm.community.entity.VideoStatus.FAILED " +
+           "AND v.hashtags IS NOT NULL AND v.hashtags <> '' " +
+           "AND NOT EXISTS (SELECT 1 FROM VideoTag vt WHERE vt.video = v) ORDER BY v.id")
+    List<Video> findUntagged(@Param("afterId") Long afterId, Pageable pageable);
+}
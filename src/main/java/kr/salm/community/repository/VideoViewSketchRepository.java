@@ -0,0 +1,7 @@
+package kr.salm.community.repository;
+
+import kr.salm.community.entity.VideoViewSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface VideoViewSketchRepository extends JpaRepository<VideoViewSketch, Long> {
+}
@@ -1,7 +1,6 @@
 package kr.salm.community.service;
 
 import kr.salm.auth.entity.User;
-import kr.salm.community.entity.*;
 import kr.salm.community.repository.*;
 import kr.salm.core.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
@@ -14,19 +13,17 @@ public class BookmarkService {
     private final BookmarkRepository bookmarkRepository;
     private final VideoRepository videoRepository;
 
+    // 삭제를 먼저 시도하고, 지운 행이 없으면 INSERT IGNORE (중복 클릭에도 한 건)
     @Transactional
     public boolean toggle(Long videoId, User user) {
-        Video video = videoRepository.findActiveById(videoId)
-                .orElseThrow(() -> BusinessException.notFound("영상"));
+        if (videoRepository.findActiveById(videoId).isEmpty()) {
+            throw BusinessException.notFound("영상");
+        }
 
-        return bookmarkRepository.findByVideoAndUser(video, user)
-                .map(bookmark -> {
-                    bookmarkRepository.delete(bookmark);
-                    return false;
-                })
-                .orElseGet(() -> {
-                    bookmarkRepository.save(Bookmark.builder().video(video).user(user).build());
-                    return true;
-                });
+        if (bookmarkRepository.deleteByIds(videoId, user.getId()) > 0) {
+            return false;
+        }
+        bookmarkRepository.insertIgnore(videoId, user.getId());
+        return true;
     }
 }
@@ -7,6 +7,7 @@ import kr.salm.community.repository.*;
 import kr.salm.core.exception.BusinessException;
 import kr.salm.core.util.HtmlSanitizer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
 public class CommentService {
     private final CommentRepository commentRepository;
     private final VideoRepository videoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Comment create(Long videoId, CommentRequest request, User author) {
@@ -31,7 +33,8 @@ public class CommentService {
                 .build();
 
         Comment saved = commentRepository.save(comment);
-        video.incrementCommentCount();
+        videoRepository.addCommentCount(videoId, 1);
+        eventPublisher.publishEvent(TrendingService.Engaged.comment(video, 1));
         return saved;
     }
 
@@ -53,7 +56,9 @@ public class CommentService {
             throw BusinessException.forbidden("삭제 권한이 없습니다.");
         }
 
-        comment.softDelete();
-        comment.getVideo().decrementCommentCount();
+        // 이미 삭제된 댓글이면 수를 다시 줄이지 않음
+        if (commentRepository.softDelete(commentId) == 0) return;
+        videoRepository.addCommentCount(comment.getVideo().getId(), -1);
+        eventPublisher.publishEvent(TrendingService.Engaged.comment(comment.getVideo(), -1));
     }
 }
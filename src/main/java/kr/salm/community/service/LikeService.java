@@ -5,30 +5,46 @@ import kr.salm.community.entity.*;
 import kr.salm.community.repository.*;
 import kr.salm.core.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * 좋아요 토글
+ * - 삭제를 먼저 시도하고, 지운 행이 없으면 INSERT IGNORE (unique 제약으로 중복 클릭도 한 건만)
+ * - like_count 는 실제로 바뀐 행 수만큼 UPDATE 한 문장으로 증감 (엔티티 dirty checking 없음)
+ */
 @Service
 @RequiredArgsConstructor
 public class LikeService {
     private final VideoLikeRepository likeRepository;
     private final VideoRepository videoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public record LikeResult(boolean liked, int likeCount) {}
 
     @Transactional
-    public boolean toggle(Long videoId, User user) {
+    public LikeResult toggle(Long videoId, User user) {
         Video video = videoRepository.findActiveById(videoId)
                 .orElseThrow(() -> BusinessException.notFound("영상"));
 
-        return likeRepository.findByVideoAndUser(video, user)
-                .map(like -> {
-                    likeRepository.delete(like);
-                    video.decrementLikeCount();
-                    return false;
-                })
-                .orElseGet(() -> {
-                    likeRepository.save(VideoLike.builder().video(video).user(user).build());
-                    video.incrementLikeCount();
-                    return true;
-                });
+        int delta;
+        boolean liked;
+        if (likeRepository.deleteByIds(videoId, user.getId()) > 0) {
+            delta = -1;
+            liked = false;
+        } else {
+            // 0 이면 동시 요청이 먼저 추가한 경우 (이미 좋아요 상태)
+            delta = likeRepository.insertIgnore(videoId, user.getId());
+            liked = true;
+        }
+
+        if (delta == 0) {
+            return new LikeResult(liked, videoRepository.findLikeCount(videoId));
+        }
+        videoRepository.addLikeCount(videoId, delta);
+        eventPublisher.publishEvent(TrendingService.Engaged.like(video, delta));
+        eventPublisher.publishEvent(new LikedVideoCache.LikeToggled(user.getId(), videoId, liked));
+        return new LikeResult(liked, (int) videoRepository.lastInsertId());
     }
 }
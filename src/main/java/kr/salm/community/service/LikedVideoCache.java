@@ -0,0 +1,127 @@
+package kr.salm.community.service;
+
+import kr.salm.community.repository.VideoLikeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 좋아요한 영상 ID (피드 카드의 liked 표시용)
+ * - 꺼져 있으면 페이지 영상 ID 로 IN 조회 한 번
+ * - 켜져 있으면 처음 조회 시 사용자의 좋아요 ID 전체를 정렬된 long[] 로 적재 (1건당 8바이트, 이진 탐색)
+ *   이후 피드에서는 쿼리 없이 판정, 좋아요 토글은 커밋 후 캐시에 반영
+ * - max-ids 를 넘는 사용자는 적재하지 않고 IN 조회 유지, 사용자 수는 max-users, 수명은 ttl-millis
+ * - 적재 중이거나 직전(stale-window-millis 이내)에 토글이 커밋된 사용자는 이번 결과를 캐시에 넣지 않음
+ *   (조회 스냅샷이 토글 커밋보다 앞설 수 있어서, 다음 조회 때 다시 적재)
+ */
+@Component
+@RequiredArgsConstructor
+public class LikedVideoCache {
+
+    private static final long[] TOO_LARGE = new long[0];
+
+    private final VideoLikeRepository likeRepository;
+
+    @Value("${likes.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${likes.cache.max-users:1000}")
+    private int maxUsers;
+
+    @Value("${likes.cache.max-ids:20000}")
+    private int maxIds;
+
+    @Value("${likes.cache.ttl-millis:600000}")
+    private long ttlMillis;
+
+    @Value("${likes.cache.stale-window-millis:5000}")
+    private long staleWindowMillis;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // 사용자별 마지막 토글 커밋 시각 (stale-window-millis 지나면 정리)
+    private final Map<Long, Long> toggledAt = new ConcurrentHashMap<>();
+
+    private record Entry(long[] ids, long loadedAt) {}
+
+    public record LikeToggled(Long userId, Long videoId, boolean liked) {}
+
+    /**
+     * videoIds 중 사용자가 좋아요한 영상 ID
+     */
+    public Set<Long> likedAmong(Long userId, Collection<Long> videoIds) {
+        if (videoIds.isEmpty()) return Set.of();
+
+        long[] ids = enabled ? load(userId) : TOO_LARGE;
+        if (ids == TOO_LARGE) {
+            return new HashSet<>(likeRepository.findVideoIdsByUser(userId, videoIds));
+        }
+        Set<Long> liked = new HashSet<>();
+        for (Long videoId : videoIds) {
+            if (Arrays.binarySearch(ids, videoId) >= 0) liked.add(videoId);
+        }
+        return liked;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLikeToggled(LikeToggled event) {
+        // load 의 적재와 같은 키에서 직렬화: 적재가 먼저면 아래에서 반영, 토글이 먼저면 적재를 건너뜀
+        toggledAt.put(event.userId(), System.currentTimeMillis());
+        entries.computeIfPresent(event.userId(), (k, entry) -> {
+            if (entry.ids() == TOO_LARGE) return entry;
+            int pos = Arrays.binarySearch(entry.ids(), event.videoId());
+            if (event.liked() == pos >= 0) return entry;
+            return new Entry(event.liked() ? insert(entry.ids(), -pos - 1, event.videoId()) : remove(entry.ids(), pos),
+                    entry.loadedAt());
+        });
+    }
+
+    private long[] load(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.loadedAt() < ttlMillis) return entry.ids();
+
+        List<Long> liked = likeRepository.findAllVideoIdsByUser(userId, PageRequest.of(0, maxIds + 1));
+        long[] ids = liked.size() > maxIds ? TOO_LARGE : liked.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (toggledAt.size() >= maxUsers) {
+            long expired = System.currentTimeMillis() - staleWindowMillis;
+            toggledAt.values().removeIf(at -> at < expired);
+        }
+        toggledAt.compute(userId, (k, at) -> {
+            // 이번 요청에는 읽은 값을 그대로 쓰고, 토글과 겹쳤으면 캐시에만 넣지 않음
+            if (at == null || at < now - staleWindowMillis) {
+                if (entries.size() >= maxUsers && !entries.containsKey(userId)) evictOldest();
+                entries.put(userId, new Entry(ids, now));
+            }
+            return at;
+        });
+        return ids;
+    }
+
+    private void evictOldest() {
+        entries.entrySet().stream()
+                .min(Comparator.comparingLong(e -> e.getValue().loadedAt()))
+                .ifPresent(e -> entries.remove(e.getKey(), e.getValue()));
+    }
+
+    private static long[] insert(long[] ids, int at, long id) {
+        long[] next = new long[ids.length + 1];
+        System.arraycopy(ids, 0, next, 0, at);
+        next[at] = id;
+        System.arraycopy(ids, at, next, at + 1, ids.length - at);
+        return next;
+    }
+
+    private static long[] remove(long[] ids, int at) {
+        long[] next = new long[ids.length - 1];
+        System.arraycopy(ids, 0, next, 0, at);
+        System.arraycopy(ids, at + 1, next, at, ids.length - at - 1);
+        return next;
+    }
+}
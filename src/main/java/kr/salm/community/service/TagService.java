@@ -0,0 +1,182 @@
+package kr.salm.community.service;
+
+import kr.salm.auth.entity.User;
+import kr.salm.community.dto.VideoResponse;
+import kr.salm.community.entity.Tag;
+import kr.salm.community.entity.Video;
+import kr.salm.community.entity.VideoTag;
+import kr.salm.community.repository.BookmarkRepository;
+import kr.salm.community.repository.TagRepository;
+import kr.salm.community.repository.VideoTagRepository;
+import kr.salm.core.dto.CursorResponse;
+import kr.salm.core.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 해시태그 정규화 (tags / video_tags)
+ * - 업로드 시 연결, 삭제/인코딩 실패 시 해제 (tags.video_count 도 함께 증감)
+ * - 인기 태그: DB 상위 목록을 메모리에 두고 연결/해제 때마다 증감, 주기적으로 다시 읽어 보정
+ * - 시작 시 태그 연결이 없는 기존 영상 백필
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagService {
+
+    private static final int MAX_TAGS_PER_VIDEO = 10;
+    private static final int MAX_TAG_LENGTH = 50;
+    private static final int TOP_CACHE_SIZE = 200;
+    private static final int BACKFILL_BATCH = 200;
+
+    private final TagRepository tagRepository;
+    private final VideoTagRepository videoTagRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ViewCountAggregator viewCountAggregator;
+    private final LikedVideoCache likedVideoCache;
+    private final BookmarkRepository bookmarkRepository;
+
+    @Value("${tags.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    // 태그명 → 영상 수 (상위 TOP_CACHE_SIZE + 이후 증감분)
+    private final Map<String, Long> topCounts = new ConcurrentHashMap<>();
+
+    public record TagCount(String name, long videoCount) {}
+
+    /**
+     * "#코디, 데일리룩 #OOTD" → [코디, 데일리룩, ootd]
+     */
+    public static List<String> normalize(String hashtags) {
+        if (hashtags == null || hashtags.isBlank()) return List.of();
+        return Arrays.stream(hashtags.split("[,\\s#]+"))
+                .map(s -> s.trim().toLowerCase(Locale.ROOT))
+                .filter(s -> !s.isEmpty() && s.length() <= MAX_TAG_LENGTH)
+                .distinct()
+                .limit(MAX_TAGS_PER_VIDEO)
+                .toList();
+    }
+
+    @Transactional
+    public void attach(Video video) {
+        List<String> names = normalize(video.getHashtags());
+        if (names.isEmpty()) return;
+
+        names.forEach(tagRepository::insertIgnore);
+        List<Tag> tags = tagRepository.findByNameIn(names);
+        for (Tag tag : tags) {
+            videoTagRepository.save(VideoTag.builder().video(video).tag(tag).build());
+        }
+        tagRepository.addVideoCount(tags.stream().map(Tag::getId).toList(), 1);
+        tags.forEach(tag -> topCounts.merge(tag.getName(), 1L, Long::sum));
+    }
+
+    @Transactional
+    public void detach(Video video) {
+        List<Long> tagIds = videoTagRepository.findTagIdsByVideoId(video.getId());
+        if (tagIds.isEmpty()) return;
+
+        videoTagRepository.deleteByVideoId(video.getId());
+        tagRepository.addVideoCount(tagIds, -1);
+        tagRepository.findAllById(tagIds)
+                .forEach(tag -> topCounts.computeIfPresent(tag.getName(), (k, v) -> v > 1 ? v - 1 : null));
+    }
+
+    public List<TagCount> topTags(int limit) {
+        return topCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .map(e -> new TagCount(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    /**
+     * 태그별 영상 (최신순, 커서 = 마지막 영상 ID)
+     * - 로그인 사용자는 페이지 단위로 좋아요/북마크 여부를 한 번에 조회 (VideoService 피드와 동일)
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<VideoResponse> findVideos(String name, String cursor, int size, User user) {
+        Tag tag = tagRepository.findByName(name.replace("#", "").trim().toLowerCase(Locale.ROOT))
+                .orElseThrow(() -> BusinessException.notFound("태그"));
+
+        long beforeId = cursor == null || cursor.isBlank() ? Long.MAX_VALUE : decodeCursor(cursor);
+        List<Video> videos = videoTagRepository.findVideos(tag, beforeId, PageRequest.of(0, size + 1));
+
+        boolean hasNext = videos.size() > size;
+        List<Video> page = hasNext ? videos.subList(0, size) : videos;
+
+        List<Long> ids = page.stream().map(Video::getId).toList();
+        boolean flags = user != null && !ids.isEmpty();
+        Set<Long> liked = flags ? likedVideoCache.likedAmong(user.getId(), ids) : Set.of();
+        Set<Long> bookmarked = flags ? new HashSet<>(bookmarkRepository.findVideoIdsByUser(user.getId(), ids)) : Set.of();
+        List<VideoResponse> content = page.stream()
+                .map(v -> {
+                    VideoResponse response = VideoResponse.from(v, liked.contains(v.getId()), bookmarked.contains(v.getId()));
+                    response.setViewCount(response.getViewCount() + (int) viewCountAggregator.pending(v.getId()));
+                    return response;
+                })
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? encodeCursor(page.get(page.size() - 1).getId()) : null;
+        return CursorResponse.of(content, size, nextCursor);
+    }
+
+    @Scheduled(fixedDelayString = "${tags.top-refresh-millis:600000}")
+    public void refreshTopTags() {
+        Map<String, Long> fresh = new HashMap<>();
+        for (Object[] row : tagRepository.findTopCounts(PageRequest.of(0, TOP_CACHE_SIZE))) {
+            fresh.put((String) row[0], (Long) row[1]);
+        }
+        topCounts.keySet().retainAll(fresh.keySet());
+        topCounts.putAll(fresh);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup) return;
+
+        long afterId = 0;
+        int count = 0;
+        while (true) {
+            List<Video> batch = videoTagRepository.findUntagged(afterId, PageRequest.of(0, BACKFILL_BATCH));
+            for (Video video : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> attach(video));
+                    count++;
+                } catch (RuntimeException e) {
+                    log.warn("태그 백필 실패: video={} ({})", video.getId(), e.getMessage());
+                }
+                afterId = video.getId();
+            }
+            if (batch.size() < BACKFILL_BATCH) break;
+        }
+        if (count > 0) {
+            log.info("태그 백필: {} 건", count);
+            refreshTopTags();
+        }
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw BusinessException.badRequest("잘못된 커서입니다.");
+        }
+    }
+}
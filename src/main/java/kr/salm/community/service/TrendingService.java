@@ -0,0 +1,205 @@
+package kr.salm.community.service;
+
+import kr.salm.community.entity.Video;
+import kr.salm.community.entity.VideoRanking;
+import kr.salm.community.repository.VideoRankingRepository;
+import kr.salm.community.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시간 감쇠 인기 순위
+ * - 고유 시청자/좋아요/댓글이 생길 때마다 영상별 점수에 가중치 더함 (반감기 half-life-hours 로 감쇠)
+ *   시청은 새로고침 반복이 점수가 되지 않도록 원시 조회수 대신 UniqueViewerCounter 추정치 증가분
+ * - rerank 주기마다 전체/카테고리별 상위 top-size 를 메모리 목록으로 교체하고 video_rankings 에 저장
+ * - 시작 시 video_rankings 로 점수 복원 (비어 있으면 최근 영상의 누적 수치로 초기화)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    private static final long GLOBAL = 0L;
+    // 이 점수 아래로 감쇠하면 추적 중단
+    private static final double MIN_SCORE = 0.05;
+
+    private final VideoRepository videoRepository;
+    private final VideoRankingRepository rankingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${trending.weights.view:1}")
+    private double viewWeight;
+
+    @Value("${trending.weights.like:8}")
+    private double likeWeight;
+
+    @Value("${trending.weights.comment:4}")
+    private double commentWeight;
+
+    @Value("${trending.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${trending.top-size:50}")
+    private int topSize;
+
+    @Value("${trending.seed-days:14}")
+    private int seedDays;
+
+    private final Map<Long, Score> scores = new ConcurrentHashMap<>();
+
+    // scopeId(0 = 전체, 카테고리 ID) → 순위별 영상 ID
+    private volatile Map<Long, List<Long>> rankings = Map.of();
+
+    private record Score(Long categoryId, double value, long at) {
+        double valueAt(long now, double halfLifeMillis) {
+            return value * Math.pow(0.5, Math.max(0, now - at) / halfLifeMillis);
+        }
+    }
+
+    private record Ranked(Long videoId, Long categoryId, double score) {}
+
+    /**
+     * 고유 시청자 추정치 증가분 (UniqueViewerCounter 반영 주기마다)
+     */
+    public void recordViewers(Long videoId, Long categoryId, long delta) {
+        if (delta > 0) record(videoId, categoryId, viewWeight * delta);
+    }
+
+    /**
+     * 좋아요/댓글 증감 (커밋 후 반영, 롤백되면 점수도 그대로)
+     */
+    public record Engaged(Long videoId, Long categoryId, int likes, int comments) {
+
+        public static Engaged like(Video video, int delta) {
+            return new Engaged(video.getId(), video.getCategory().getId(), delta, 0);
+        }
+
+        public static Engaged comment(Video video, int delta) {
+            return new Engaged(video.getId(), video.getCategory().getId(), 0, delta);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEngaged(Engaged event) {
+        record(event.videoId(), event.categoryId(), likeWeight * event.likes() + commentWeight * event.comments());
+    }
+
+    public void remove(Long videoId) {
+        scores.remove(videoId);
+    }
+
+    /**
+     * @param categoryId null 이면 전체
+     */
+    public List<Long> top(Long categoryId, int limit) {
+        List<Long> ids = rankings.getOrDefault(categoryId == null ? GLOBAL : categoryId, List.of());
+        return ids.size() > limit ? ids.subList(0, limit) : ids;
+    }
+
+    private void record(Long videoId, Long categoryId, double weight) {
+        long now = System.currentTimeMillis();
+        scores.compute(videoId, (id, old) -> {
+            double base = old != null ? old.valueAt(now, halfLifeMillis()) : 0;
+            return new Score(categoryId, Math.max(0, base + weight), now);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${trending.rerank-millis:60000}", initialDelayString = "${trending.rerank-millis:60000}")
+    public synchronized void rerank() {
+        long now = System.currentTimeMillis();
+        double halfLife = halfLifeMillis();
+        Comparator<Ranked> byScore = Comparator.comparingDouble(Ranked::score);
+        Map<Long, PriorityQueue<Ranked>> heaps = new HashMap<>();
+
+        for (Map.Entry<Long, Score> entry : scores.entrySet()) {
+            Score score = entry.getValue();
+            double value = score.valueAt(now, halfLife);
+            if (value < MIN_SCORE) {
+                scores.remove(entry.getKey(), score);
+                continue;
+            }
+            Ranked ranked = new Ranked(entry.getKey(), score.categoryId(), value);
+            offer(heaps.computeIfAbsent(GLOBAL, k -> new PriorityQueue<>(byScore)), ranked);
+            offer(heaps.computeIfAbsent(score.categoryId(), k -> new PriorityQueue<>(byScore)), ranked);
+        }
+
+        Map<Long, List<Long>> next = new HashMap<>();
+        List<VideoRanking> rows = new ArrayList<>();
+        LocalDateTime computedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+        heaps.forEach((scopeId, heap) -> {
+            List<Ranked> sorted = new ArrayList<>(heap);
+            sorted.sort(byScore.reversed());
+            next.put(scopeId, sorted.stream().map(Ranked::videoId).toList());
+            for (int i = 0; i < sorted.size(); i++) {
+                Ranked r = sorted.get(i);
+                rows.add(VideoRanking.builder()
+                        .scopeId(scopeId)
+                        .ranking(i + 1)
+                        .videoId(r.videoId())
+                        .categoryId(r.categoryId())
+                        .score(r.score())
+                        .computedAt(computedAt)
+                        .build());
+            }
+        });
+        rankings = next;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rankingRepository.deleteAllRankings();
+                rankingRepository.saveAll(rows);
+            });
+        } catch (RuntimeException e) {
+            log.warn("인기 순위 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        List<VideoRanking> saved = rankingRepository.findAll();
+        if (!saved.isEmpty()) {
+            for (VideoRanking r : saved) {
+                long at = r.getComputedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                scores.merge(r.getVideoId(), new Score(r.getCategoryId(), r.getScore(), at),
+                        (a, b) -> a.value() >= b.value() ? a : b);
+            }
+        } else {
+            // 처음 실행: 최근 영상의 누적 수치를 업로드 시점에 생긴 것으로 보고 감쇠
+            // 시청은 고유 시청자 추정치 (스케치가 쌓이기 전 영상만 조회수)
+            LocalDateTime since = LocalDateTime.now().minusDays(seedDays);
+            for (Object[] row : videoRepository.findTrendingSeed(since)) {
+                int viewers = ((Number) row[6]).intValue();
+                double value = (viewers > 0 ? viewers : ((Number) row[2]).intValue()) * viewWeight
+                        + ((Number) row[3]).intValue() * likeWeight
+                        + ((Number) row[4]).intValue() * commentWeight;
+                long at = ((LocalDateTime) row[5]).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                scores.put((Long) row[0], new Score((Long) row[1], value, at));
+            }
+        }
+        rerank();
+        log.info("인기 순위 복원: 영상 {} 건", scores.size());
+    }
+
+    private void offer(PriorityQueue<Ranked> heap, Ranked ranked) {
+        heap.offer(ranked);
+        if (heap.size() > topSize) heap.poll();
+    }
+
+    private double halfLifeMillis() {
+        return halfLifeHours * 3_600_000d;
+    }
+}
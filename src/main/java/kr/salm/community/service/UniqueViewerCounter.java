@@ -0,0 +1,123 @@
+package kr.salm.community.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import kr.salm.auth.entity.User;
+import kr.salm.community.entity.VideoViewSketch;
+import kr.salm.community.repository.VideoRepository;
+import kr.salm.community.repository.VideoViewSketchRepository;
+import kr.salm.core.util.HyperLogLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 영상별 고유 시청자 추정 (HyperLogLog)
+ * - 시청자 키: 로그인 사용자 ID, 없으면 세션 ID, 세션도 없으면 IP + User-Agent
+ * - 메모리에는 마지막 반영 이후의 스케치만 (영상당 4KB 고정)
+ * - 주기적으로 저장된 스케치와 병합해 video_view_sketches 에 저장, 추정치는 videos.unique_viewers 에 기록
+ *   추정치 증가분은 인기 순위(TrendingService)의 시청 점수
+ * - 기록은 compute 안에서, 반영은 remove 로 꺼내므로 꺼낸 스케치에 늦게 더해져 유실되는 일 없음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UniqueViewerCounter {
+
+    private static final int FLUSH_BATCH = 200;
+
+    private final VideoViewSketchRepository sketchRepository;
+    private final VideoRepository videoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TrendingService trendingService;
+
+    private final Map<Long, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    public static String viewerKey(User user, HttpServletRequest request) {
+        if (user != null) return "u:" + user.getId();
+        HttpSession session = request.getSession(false);
+        if (session != null) return "s:" + session.getId();
+        return "a:" + request.getRemoteAddr() + "|" + request.getHeader("User-Agent");
+    }
+
+    public void record(Long videoId, String viewerKey) {
+        pending.compute(videoId, (k, sketch) -> {
+            if (sketch == null) sketch = new HyperLogLog();
+            sketch.add(viewerKey);
+            return sketch;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${views.unique.flush-interval-millis:60000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) return;
+
+        List<Long> ids = new ArrayList<>(pending.keySet());
+        for (int i = 0; i < ids.size(); i += FLUSH_BATCH) {
+            Map<Long, HyperLogLog> batch = new HashMap<>();
+            for (Long id : ids.subList(i, Math.min(ids.size(), i + FLUSH_BATCH))) {
+                HyperLogLog sketch = pending.remove(id);
+                if (sketch != null) batch.put(id, sketch);
+            }
+            try {
+                Map<Long, Long> increases = transactionTemplate.execute(status -> persist(batch));
+                rank(increases);
+            } catch (RuntimeException e) {
+                // 다음 주기에 다시 병합
+                log.warn("고유 시청자 반영 실패 ({} 건): {}", batch.size(), e.getMessage());
+                batch.forEach((id, sketch) -> pending.merge(id, sketch, (a, b) -> { a.merge(b); return a; }));
+            }
+        }
+    }
+
+    /**
+     * @return 영상별 추정치 증가분
+     */
+    private Map<Long, Long> persist(Map<Long, HyperLogLog> batch) {
+        Map<Long, VideoViewSketch> stored = sketchRepository.findAllById(batch.keySet()).stream()
+                .collect(Collectors.toMap(VideoViewSketch::getVideoId, Function.identity()));
+
+        Map<Long, Long> increases = new HashMap<>();
+        batch.forEach((videoId, delta) -> {
+            VideoViewSketch row = stored.get(videoId);
+            HyperLogLog merged = HyperLogLog.fromBytes(row != null ? row.getSketch() : null);
+            long before = row != null ? merged.estimate() : 0;
+            merged.merge(delta);
+            if (row == null) {
+                row = VideoViewSketch.builder().videoId(videoId).build();
+            }
+            row.setSketch(merged.toBytes());
+            sketchRepository.save(row);
+            long estimate = merged.estimate();
+            videoRepository.updateUniqueViewers(videoId, (int) Math.min(Integer.MAX_VALUE, estimate));
+            if (estimate > before) increases.put(videoId, estimate - before);
+        });
+        return increases;
+    }
+
+    // 커밋된 증가분만 인기 점수에 반영 (삭제된 영상 제외)
+    private void rank(Map<Long, Long> increases) {
+        if (increases == null || increases.isEmpty()) return;
+        try {
+            for (Object[] row : videoRepository.findCategoryIds(increases.keySet())) {
+                Long videoId = (Long) row[0];
+                trendingService.recordViewers(videoId, (Long) row[1], increases.get(videoId));
+            }
+        } catch (RuntimeException e) {
+            log.warn("고유 시청자 인기 점수 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,245 @@
+package kr.salm.community.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.salm.community.entity.Video;
+import kr.salm.community.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.analysis.ko.KoreanPartOfSpeechStopFilter;
+import org.apache.lucene.analysis.ko.KoreanTokenizer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.*;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * 영상 검색 색인 (로컬 디스크 Lucene, 한국어 형태소 분석 Nori)
+ * - 제목 / 해시태그 / 설명 순으로 가중치, 관련도 × 최신도(반감기)로 정렬
+ * - 공개(READY) 되거나 삭제되면 커밋 후 VideoChanged 이벤트로 바로 반영
+ * - 색인 커밋은 주기적으로, 시작 시 마지막 커밋 이후 변경된 영상만 다시 반영 (색인이 없으면 전체)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VideoSearchIndex {
+
+    private static final String F_ID = "id";
+    private static final String F_TITLE = "title";
+    private static final String F_HASHTAGS = "hashtags";
+    private static final String F_DESCRIPTION = "description";
+    private static final String F_CREATED = "createdAt";
+    private static final String LAST_COMMIT = "lastCommit";
+
+    private static final int CATCH_UP_BATCH = 500;
+    // 최신도 재정렬 대상 (관련도 상위)
+    private static final int MAX_CANDIDATES = 1000;
+    // 커밋 직전 DB 에 반영된 변경을 놓치지 않도록 여유
+    private static final long CATCH_UP_MARGIN_MINUTES = 5;
+
+    private final VideoRepository videoRepository;
+
+    @Value("${search.index-dir}")
+    private String indexDir;
+
+    @Value("${search.recency-half-life-days:30}")
+    private double halfLifeDays;
+
+    private Analyzer analyzer;
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public record VideoChanged(Long videoId) {}
+    public record SearchHits(List<Long> ids, long total) {}
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path dir = Paths.get(indexDir);
+        Files.createDirectories(dir);
+        analyzer = new KoreanAnalyzer(null, KoreanTokenizer.DecompoundMode.MIXED,
+                KoreanPartOfSpeechStopFilter.DEFAULT_STOP_TAGS, false);
+        directory = FSDirectory.open(dir);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        LocalDateTime since = lastCommit();
+        LocalDateTime startedAt = LocalDateTime.now();
+        long afterId = 0;
+        int count = 0;
+        try {
+            while (true) {
+                List<Video> batch = videoRepository.findForIndex(since, afterId, PageRequest.of(0, CATCH_UP_BATCH));
+                for (Video video : batch) {
+                    apply(video);
+                    afterId = video.getId();
+                }
+                count += batch.size();
+                if (batch.size() < CATCH_UP_BATCH) break;
+            }
+            commit(startedAt);
+            searcherManager.maybeRefresh();
+            if (count > 0) {
+                log.info("검색 색인 반영: {} 건 ({})", count, since == null ? "전체" : since + " 이후");
+            }
+        } catch (IOException e) {
+            log.error("검색 색인 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVideoChanged(VideoChanged event) {
+        videoRepository.findById(event.videoId()).ifPresent(video -> {
+            try {
+                apply(video);
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                log.warn("검색 색인 갱신 실패: video={} ({})", video.getId(), e.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${search.commit-interval-millis:30000}")
+    public void commitPending() {
+        if (!writer.hasUncommittedChanges()) return;
+        try {
+            commit(LocalDateTime.now());
+        } catch (IOException e) {
+            log.warn("검색 색인 커밋 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param offset 관련도·최신도 정렬 후 시작 위치
+     * @return 영상 ID (정렬 순서), 전체 건수 (최대 MAX_CANDIDATES)
+     */
+    public SearchHits search(String keyword, int offset, int limit) {
+        Query query = buildQuery(keyword);
+        if (query == null) return new SearchHits(List.of(), 0);
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, MAX_CANDIDATES);
+                StoredFields storedFields = searcher.storedFields();
+                long now = System.currentTimeMillis();
+
+                List<ScoredId> scored = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc hit : top.scoreDocs) {
+                    Document doc = storedFields.document(hit.doc, Set.of(F_ID, F_CREATED));
+                    long createdAt = doc.getField(F_CREATED).numericValue().longValue();
+                    double ageDays = Math.max(0, now - createdAt) / 86_400_000.0;
+                    // 오래된 영상도 관련도가 높으면 남도록 절반만 감쇠
+                    double recency = 0.5 + 0.5 * Math.pow(0.5, ageDays / halfLifeDays);
+                    scored.add(new ScoredId(Long.valueOf(doc.get(F_ID)), hit.score * recency));
+                }
+                scored.sort(Comparator.comparingDouble(ScoredId::score).reversed());
+
+                List<Long> ids = scored.stream().skip(offset).limit(limit).map(ScoredId::id).toList();
+                return new SearchHits(ids, scored.size());
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            log.error("검색 실패: {} ({})", keyword, e.getMessage());
+            return new SearchHits(List.of(), 0);
+        }
+    }
+
+    private Query buildQuery(String keyword) {
+        if (keyword == null || keyword.isBlank()) return null;
+
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        addField(query, builder.createBooleanQuery(F_TITLE, keyword), 3f);
+        addField(query, builder.createBooleanQuery(F_HASHTAGS, keyword.replace("#", " ")), 2f);
+        addField(query, builder.createBooleanQuery(F_DESCRIPTION, keyword), 1f);
+        BooleanQuery built = query.build();
+        return built.clauses().isEmpty() ? null : built;
+    }
+
+    private void addField(BooleanQuery.Builder query, Query fieldQuery, float boost) {
+        if (fieldQuery != null) {
+            query.add(new BoostQuery(fieldQuery, boost), BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    /**
+     * 공개 상태면 색인 갱신, 삭제/비공개면 색인에서 제거
+     */
+    private void apply(Video video) throws IOException {
+        Term id = new Term(F_ID, String.valueOf(video.getId()));
+        if (video.isDeleted() || !video.isReady()) {
+            writer.deleteDocuments(id);
+            return;
+        }
+
+        Document doc = new Document();
+        doc.add(new StringField(F_ID, id.text(), Field.Store.YES));
+        doc.add(new TextField(F_TITLE, video.getTitle(), Field.Store.NO));
+        if (video.getHashtags() != null) {
+            doc.add(new TextField(F_HASHTAGS, video.getHashtags().replace("#", " ").replace(",", " "), Field.Store.NO));
+        }
+        if (video.getDescription() != null) {
+            doc.add(new TextField(F_DESCRIPTION, video.getDescription(), Field.Store.NO));
+        }
+        LocalDateTime createdAt = video.getCreatedAt() != null ? video.getCreatedAt() : LocalDateTime.now();
+        doc.add(new StoredField(F_CREATED, createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        writer.updateDocument(id, doc);
+    }
+
+    private void commit(LocalDateTime at) throws IOException {
+        writer.setLiveCommitData(Map.of(LAST_COMMIT, at.toString()).entrySet());
+        writer.commit();
+    }
+
+    // 마지막 커밋 시각 (색인이 없으면 null → 전체 색인)
+    private LocalDateTime lastCommit() {
+        try {
+            String value = SegmentInfos.readLatestCommit(directory).getUserData().get(LAST_COMMIT);
+            return value != null ? LocalDateTime.parse(value).minusMinutes(CATCH_UP_MARGIN_MINUTES) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                commit(LocalDateTime.now());
+            }
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        } catch (IOException e) {
+            log.warn("검색 색인 종료 실패: {}", e.getMessage());
+        }
+    }
+
+    private record ScoredId(Long id, double score) {}
+}
@@ -1,24 +1,40 @@
 package kr.salm.community.service;
 
 import kr.salm.auth.entity.User;
+import kr.salm.community.dto.FeedCursor;
 import kr.salm.community.dto.VideoResponse;
 import kr.salm.community.dto.VideoUploadRequest;
 import kr.salm.community.entity.Category;
 import kr.salm.community.entity.Video;
+import kr.salm.community.entity.VideoStatus;
 import kr.salm.community.repository.*;
+import kr.salm.core.dto.CursorResponse;
 import kr.salm.core.dto.PageResponse;
 import kr.salm.core.exception.BusinessException;
+import kr.salm.file.service.ChunkedUploadService;
+import kr.salm.file.service.EncodingJobService;
+import kr.salm.file.service.EncodingWorker;
+import kr.salm.file.service.MediaFileServer;
+import kr.salm.file.service.StorageAdmission;
 import kr.salm.file.service.VideoFileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,37 +47,107 @@ public class VideoService {
     private final VideoLikeRepository likeRepository;
     private final BookmarkRepository bookmarkRepository;
     private final VideoFileService videoFileService;
+    private final EncodingJobService encodingJobService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final EncodingWorker encodingWorker;
+    private final StorageAdmission storageAdmission;
+    private final VideoSearchIndex videoSearchIndex;
+    private final TagService tagService;
+    private final TrendingService trendingService;
+    private final ViewCountAggregator viewCountAggregator;
+    private final UniqueViewerCounter uniqueViewerCounter;
+    private final LikedVideoCache likedVideoCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional
+    /**
+     * 원본 저장 후 PENDING 상태로 즉시 반환 (인코딩은 EncodingWorker 에서 처리)
+     * - 파일 저장 동안 트랜잭션/DB 커넥션을 잡지 않음
+     */
     public Video upload(VideoUploadRequest request, MultipartFile videoFile, User user) {
         Category category = categoryRepository.findBySlug(request.getCategory())
                 .orElseThrow(() -> BusinessException.notFound("카테고리"));
+        encodingWorker.admit();
+
+        // 원본 저장 전에 공간 예약 (fileKey 가 정해지면 넘김)
+        String reservation = UUID.randomUUID().toString();
+        VideoFileService.StoredUpload stored;
+        try {
+            storageAdmission.reserveVideo(reservation, user.getId(), videoFile.getSize());
+            stored = videoFileService.store(videoFile);
+        } catch (RuntimeException e) {
+            storageAdmission.release(reservation);
+            encodingWorker.cancelAdmission();
+            throw e;
+        }
+        storageAdmission.commit(reservation, videoFile.getSize());
+        storageAdmission.transfer(reservation, stored.fileKey());
 
-        var result = videoFileService.upload(videoFile);
+        return register(request, category, stored, user);
+    }
 
+    /**
+     * 분할 업로드 완료 → 인코딩 등록
+     */
+    public Video uploadChunked(VideoUploadRequest request, String uploadId, User user) {
+        Category category = categoryRepository.findBySlug(request.getCategory())
+                .orElseThrow(() -> BusinessException.notFound("카테고리"));
+        encodingWorker.admit();
+
+        VideoFileService.StoredUpload stored;
+        try {
+            stored = chunkedUploadService.finish(uploadId, user.getId());
+        } catch (RuntimeException e) {
+            encodingWorker.cancelAdmission();
+            throw e;
+        }
+        return register(request, category, stored, user);
+    }
+
+    // admit() 로 잡은 대기열 자리는 작업이 등록되면 워커가 채우고, 아니면 여기서 반납
+    private Video register(VideoUploadRequest request, Category category, VideoFileService.StoredUpload stored, User user) {
         Video video = Video.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .author(user)
                 .category(category)
-                .videoPath(result.videoPath())
-                .thumbnailPath(result.thumbnailPath())
-                .duration(result.metadata().duration())
-                .width(result.metadata().width())
-                .height(result.metadata().height())
-                .fileSize(result.metadata().fileSize())
+                .videoPath(videoFileService.videoPathOf(stored.datePath(), stored.fileKey()))
+                .status(VideoStatus.PENDING)
                 .hashtags(request.getHashtags())
                 .productUrl(request.getProductUrl())
                 .build();
 
-        return videoRepository.save(video);
+        try {
+            Video saved = encodingJobService.submit(video, stored);
+            if (saved.isReady()) {
+                // 기존 인코딩 결과 재사용 → 원본 불필요
+                videoFileService.deleteQuietly(stored.path());
+                storageAdmission.release(stored.fileKey());
+                encodingWorker.cancelAdmission();
+            }
+            attachTags(saved);
+            return saved;
+        } catch (RuntimeException e) {
+            videoFileService.deleteQuietly(stored.path());
+            storageAdmission.release(stored.fileKey());
+            encodingWorker.cancelAdmission();
+            throw e;
+        }
+    }
+
+    // 태그 연결 실패로 업로드를 실패시키지 않음 (다음 시작 시 백필)
+    private void attachTags(Video video) {
+        try {
+            tagService.attach(video);
+        } catch (RuntimeException e) {
+            log.warn("태그 연결 실패: video={} ({})", video.getId(), e.getMessage());
+        }
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Video findById(Long id) {
         Video video = videoRepository.findActiveById(id)
                 .orElseThrow(() -> BusinessException.notFound("영상"));
-        videoRepository.incrementViewCount(id);
+        viewCountAggregator.record(id);
         return video;
     }
 
@@ -71,9 +157,13 @@ public class VideoService {
                 .orElseThrow(() -> BusinessException.notFound("영상"));
     }
 
-    @Transactional
-    public VideoResponse getDetail(Long id, User user) {
+    /**
+     * @param viewerKey 고유 시청자 집계 키 (UniqueViewerCounter.viewerKey)
+     */
+    @Transactional(readOnly = true)
+    public VideoResponse getDetail(Long id, User user, String viewerKey) {
         Video video = findById(id);
+        uniqueViewerCounter.record(id, viewerKey);
         boolean liked = false;
         boolean bookmarked = false;
 
@@ -82,52 +172,125 @@ public class VideoService {
             bookmarked = bookmarkRepository.existsByVideoAndUser(video, user);
         }
 
-        return VideoResponse.from(video, liked, bookmarked);
+        return toResponse(video, liked, bookmarked);
+    }
+
+    /**
+     * 목록용 변환: 로그인 사용자면 페이지 전체의 좋아요/저장 여부를 관계별 IN 한 번으로 조회
+     */
+    private List<VideoResponse> toResponses(List<Video> videos, User user) {
+        if (user == null || videos.isEmpty()) {
+            return videos.stream().map(this::toResponse).collect(Collectors.toList());
+        }
+        List<Long> ids = videos.stream().map(Video::getId).toList();
+        Set<Long> liked = likedVideoCache.likedAmong(user.getId(), ids);
+        Set<Long> bookmarked = new HashSet<>(bookmarkRepository.findVideoIdsByUser(user.getId(), ids));
+        return videos.stream()
+                .map(v -> toResponse(v, liked.contains(v.getId()), bookmarked.contains(v.getId())))
+                .collect(Collectors.toList());
+    }
+
+    // 표시 조회수 = DB 값 + 아직 반영되지 않은 증가분
+    private VideoResponse toResponse(Video video) {
+        return toResponse(video, false, false);
+    }
+
+    private VideoResponse toResponse(Video video, boolean liked, boolean bookmarked) {
+        VideoResponse response = VideoResponse.from(video, liked, bookmarked);
+        response.setViewCount(response.getViewCount() + (int) viewCountAggregator.pending(video.getId()));
+        return response;
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<VideoResponse> findAll(int page, int size) {
+    public PageResponse<VideoResponse> findAll(int page, int size, User user) {
         Page<Video> videos = videoRepository.findAllActive(PageRequest.of(page, size, Sort.by("createdAt").descending()));
-        List<VideoResponse> content = videos.getContent().stream()
-                .map(v -> VideoResponse.from(v, false, false))
-                .collect(Collectors.toList());
-        return PageResponse.of(videos, content);
+        return PageResponse.of(videos, toResponses(videos.getContent(), user));
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<VideoResponse> findByCategory(String slug, int page, int size) {
+    public PageResponse<VideoResponse> findByCategory(String slug, int page, int size, User user) {
         Category category = categoryRepository.findBySlug(slug)
                 .orElseThrow(() -> BusinessException.notFound("카테고리"));
         Page<Video> videos = videoRepository.findByCategory(category, PageRequest.of(page, size, Sort.by("createdAt").descending()));
-        List<VideoResponse> content = videos.getContent().stream()
-                .map(v -> VideoResponse.from(v, false, false))
-                .collect(Collectors.toList());
-        return PageResponse.of(videos, content);
+        return PageResponse.of(videos, toResponses(videos.getContent(), user));
     }
 
+    /**
+     * 커서 피드 (무한 스크롤용, 깊이와 무관하게 일정 비용)
+     * @param categorySlug null 이면 전체
+     */
     @Transactional(readOnly = true)
-    public PageResponse<VideoResponse> search(String keyword, int page, int size) {
-        Page<Video> videos = videoRepository.search(keyword, PageRequest.of(page, size));
-        List<VideoResponse> content = videos.getContent().stream()
-                .map(v -> VideoResponse.from(v, false, false))
-                .collect(Collectors.toList());
-        return PageResponse.of(videos, content);
+    public CursorResponse<VideoResponse> findFeed(String categorySlug, String cursor, int size, User user) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        // 다음 페이지 존재 여부 확인용으로 한 개 더 조회
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        List<Video> videos;
+        if (categorySlug != null) {
+            Category category = categoryRepository.findBySlug(categorySlug)
+                    .orElseThrow(() -> BusinessException.notFound("카테고리"));
+            videos = after == null
+                    ? videoRepository.findCategoryFeed(category, limit)
+                    : videoRepository.findCategoryFeedAfter(category, after.createdAt(), after.id(), limit);
+        } else {
+            videos = after == null
+                    ? videoRepository.findFeed(limit)
+                    : videoRepository.findFeedAfter(after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = videos.size() > size;
+        List<Video> page = hasNext ? videos.subList(0, size) : videos;
+        List<VideoResponse> content = toResponses(page, user);
+        String nextCursor = hasNext ? FeedCursor.of(page.get(page.size() - 1)).encode() : null;
+        return CursorResponse.of(content, size, nextCursor);
     }
 
     @Transactional(readOnly = true)
-    public List<VideoResponse> findLatest(int limit) {
-        return videoRepository.findAllActive(PageRequest.of(0, limit, Sort.by("createdAt").descending()))
-                .getContent().stream()
-                .map(v -> VideoResponse.from(v, false, false))
-                .collect(Collectors.toList());
+    public PageResponse<VideoResponse> search(String keyword, int page, int size, User user) {
+        VideoSearchIndex.SearchHits hits = videoSearchIndex.search(keyword, page * size, size);
+        Map<Long, Video> videos = hits.ids().isEmpty() ? Map.of() : videoRepository.findActiveByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(Video::getId, v -> v));
+        List<VideoResponse> content = toResponses(hits.ids().stream()
+                .map(videos::get)
+                .filter(Objects::nonNull)
+                .toList(), user);
+        return PageResponse.of(new PageImpl<>(content, PageRequest.of(page, size), hits.total()), content);
     }
 
     @Transactional(readOnly = true)
-    public List<VideoResponse> findPopular(int limit) {
-        return videoRepository.findPopular(PageRequest.of(0, limit))
-                .stream()
-                .map(v -> VideoResponse.from(v, false, false))
-                .collect(Collectors.toList());
+    public List<VideoResponse> findLatest(int limit, User user) {
+        return toResponses(videoRepository.findAllActive(PageRequest.of(0, limit, Sort.by("createdAt").descending()))
+                .getContent(), user);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VideoResponse> findPopular(int limit, User user) {
+        return findTrending(null, limit, user);
+    }
+
+    /**
+     * 인기 영상 (TrendingService 순위, 모자라면 최신 영상으로 채움)
+     */
+    @Transactional(readOnly = true)
+    public List<VideoResponse> findTrending(String categorySlug, int limit, User user) {
+        Category category = categorySlug == null ? null : categoryRepository.findBySlug(categorySlug)
+                .orElseThrow(() -> BusinessException.notFound("카테고리"));
+
+        // 순위에 삭제된 영상이 남아 있을 수 있어 여유 있게 조회
+        List<Long> ids = trendingService.top(category == null ? null : category.getId(), limit * 2);
+        Map<Long, Video> byId = ids.isEmpty() ? Map.of() : videoRepository.findActiveByIdIn(ids).stream()
+                .collect(Collectors.toMap(Video::getId, v -> v));
+        List<Video> videos = new ArrayList<>(ids.stream().map(byId::get).filter(Objects::nonNull).limit(limit).toList());
+
+        if (videos.size() < limit) {
+            PageRequest latest = PageRequest.of(0, limit * 2);
+            List<Video> fill = category == null ? videoRepository.findFeed(latest) : videoRepository.findCategoryFeed(category, latest);
+            for (Video v : fill) {
+                if (videos.size() >= limit) break;
+                if (!byId.containsKey(v.getId())) videos.add(v);
+            }
+        }
+        return toResponses(videos, user);
     }
 
     @Transactional
@@ -137,6 +300,13 @@ public class VideoService {
         if (!video.getAuthor().getId().equals(user.getId())) {
             throw BusinessException.forbidden("삭제 권한이 없습니다.");
         }
+        // 이미 삭제됨 / 동시 요청이 먼저 삭제: 참조 해제 등은 영상당 한 번만
+        if (video.isDeleted() || videoRepository.markDeleted(id) == 0) return;
         video.setDeleted(true);
+        encodingJobService.release(video);
+        tagService.detach(video);
+        trendingService.remove(video.getId());
+        eventPublisher.publishEvent(new VideoSearchIndex.VideoChanged(video.getId()));
+        eventPublisher.publishEvent(new MediaFileServer.VideoHidden(video.getVideoPath()));
     }
 }
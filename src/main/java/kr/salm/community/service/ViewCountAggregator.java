@@ -0,0 +1,97 @@
+package kr.salm.community.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 조회수 지연 반영 (write-behind)
+ * - 요청 경로에서는 영상별 카운터 merge 만 (행 잠금 없음)
+ * - flush-interval-millis 마다, 그리고 종료 시 UPDATE ... CASE 한 문장으로 일괄 반영
+ *   (비정상 종료 시 유실은 최대 한 주기 분량)
+ *   영상별 카운터는 computeIfPresent 로 원자적으로 꺼내므로 그 뒤 증가는 새 항목으로 쌓임 (유실 없음)
+ * - 화면 표시용 조회수는 DB 값 + 아직 반영 안 된 증가분 (반영 중인 배치 포함, 성공/실패 즉시 제외)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViewCountAggregator {
+
+    private static final int FLUSH_BATCH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+
+    // 반영 중인 증가분 (배치 UPDATE 가 끝날 때까지 표시 조회수에 포함)
+    private final Map<Long, Long> inFlight = new ConcurrentHashMap<>();
+
+    public void record(Long videoId) {
+        pending.merge(videoId, 1L, Long::sum);
+    }
+
+    // 아직 DB 에 반영되지 않은 조회수
+    public long pending(Long videoId) {
+        return pending.getOrDefault(videoId, 0L) + inFlight.getOrDefault(videoId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${views.flush-interval-millis:5000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Long videoId : pending.keySet()) {
+            // 꺼내면서 inFlight 로 옮김 (한 원자 구간이라 표시 조회수가 비지 않음, 이후 조회는 새 항목으로)
+            pending.computeIfPresent(videoId, (k, n) -> {
+                inFlight.put(k, n);
+                deltas.put(k, n);
+                return null;
+            });
+        }
+        if (deltas.isEmpty()) return;
+
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        for (int i = 0; i < entries.size(); i += FLUSH_BATCH) {
+            List<Map.Entry<Long, Long>> batch = entries.subList(i, Math.min(entries.size(), i + FLUSH_BATCH));
+            try {
+                update(batch);
+            } catch (RuntimeException e) {
+                // 꺼낸 증가분만 다음 주기에 다시 반영
+                log.warn("조회수 반영 실패 ({} 건): {}", batch.size(), e.getMessage());
+                batch.forEach(d -> pending.merge(d.getKey(), d.getValue(), Long::sum));
+            } finally {
+                // 반영됐으면 DB 값에, 실패했으면 pending 에 포함되므로 제외
+                batch.forEach(d -> inFlight.remove(d.getKey()));
+            }
+        }
+    }
+
+    /**
+     * UPDATE videos SET view_count = view_count + CASE id WHEN ? THEN ? ... END, last_viewed_at = NOW() WHERE id IN (...)
+     */
+    private void update(List<Map.Entry<Long, Long>> batch) {
+        StringBuilder sql = new StringBuilder("UPDATE videos SET view_count = view_count + CASE id");
+        List<Object> args = new ArrayList<>(batch.size() * 3);
+        for (Map.Entry<Long, Long> d : batch) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(d.getKey());
+            args.add(d.getValue());
+        }
+        sql.append(" ELSE 0 END, last_viewed_at = NOW() WHERE id IN (");
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args.add(batch.get(i).getKey());
+        }
+        sql.append(")");
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -31,7 +31,8 @@ public class SecurityConfig {
                 .requestMatchers("/css/**", "/js/**", "/img/**", "/videos/**", "/thumbnails/**", "/clothes/**", "/favicon.ico").permitAll()
                 .requestMatchers("/", "/login", "/signup", "/oauth2/**", "/api/auth/check/**").permitAll()
                 .requestMatchers("/videos", "/videos/{id:[0-9]+}", "/category/**").permitAll()
-                .requestMatchers("/api/videos", "/api/videos/{id:[0-9]+}", "/api/videos/{id}/comments").permitAll()
+                .requestMatchers("/api/videos", "/api/videos/{id:[0-9]+}", "/api/videos/{id}/comments", "/api/videos/{id}/progress").permitAll()
+                .requestMatchers("/api/tags/top", "/api/tags/{tag}/videos").permitAll()
                 // closet
                 .requestMatchers("/closet/**").authenticated()
                 .requestMatchers("/api/closet/**").authenticated()
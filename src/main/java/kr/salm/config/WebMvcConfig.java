@@ -1,23 +0,0 @@
-package kr.salm.config;
-
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-@Configuration
-public class WebMvcConfig implements WebMvcConfigurer {
-
-    @Value("${file.upload-dir}")
-    private String uploadDir;
-
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/videos/**")
-                .addResourceLocations("file:" + uploadDir + "/videos/");
-        registry.addResourceHandler("/thumbnails/**")
-                .addResourceLocations("file:" + uploadDir + "/thumbnails/");
-        registry.addResourceHandler("/clothes/**")
-                .addResourceLocations("file:" + uploadDir + "/clothes/");
-    }
-}
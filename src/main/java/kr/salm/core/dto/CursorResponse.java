@@ -0,0 +1,27 @@
+package kr.salm.core.dto;
+
+import lombok.*;
+import java.util.List;
+
+/**
+ * 커서 기반 목록 응답 (전체 개수 없음, nextCursor 로 다음 페이지 요청)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static <T> CursorResponse<T> of(List<T> content, int size, String nextCursor) {
+        return CursorResponse.<T>builder()
+                .content(content)
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+}
@@ -7,11 +7,17 @@ import org.springframework.http.HttpStatus;
 public class BusinessException extends RuntimeException {
     private final HttpStatus status;
     private final String code;
+    private final Integer retryAfterSeconds;
 
     public BusinessException(HttpStatus status, String code, String message) {
+        this(status, code, message, null);
+    }
+
+    public BusinessException(HttpStatus status, String code, String message, Integer retryAfterSeconds) {
         super(message);
         this.status = status;
         this.code = code;
+        this.retryAfterSeconds = retryAfterSeconds;
     }
 
     public static BusinessException notFound(String resource) {
@@ -22,6 +28,10 @@ public class BusinessException extends RuntimeException {
         return new BusinessException(HttpStatus.BAD_REQUEST, "BAD_REQUEST", message);
     }
 
+    public static BusinessException unsupportedMedia(String message) {
+        return new BusinessException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "UNSUPPORTED_MEDIA_TYPE", message);
+    }
+
     public static BusinessException unauthorized(String message) {
         return new BusinessException(HttpStatus.UNAUTHORIZED, "UNAUTHORIZED", message);
     }
@@ -30,6 +40,18 @@ public class BusinessException extends RuntimeException {
         return new BusinessException(HttpStatus.FORBIDDEN, "FORBIDDEN", message);
     }
 
+    public static BusinessException conflict(String message) {
+        return new BusinessException(HttpStatus.CONFLICT, "CONFLICT", message);
+    }
+
+    public static BusinessException unavailable(String message, int retryAfterSeconds) {
+        return new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE", message, retryAfterSeconds);
+    }
+
+    public static BusinessException insufficientStorage(String message) {
+        return new BusinessException(HttpStatus.INSUFFICIENT_STORAGE, "INSUFFICIENT_STORAGE", message);
+    }
+
     public static BusinessException duplicate(String resource) {
         return new BusinessException(HttpStatus.CONFLICT, "DUPLICATE", "이미 존재하는 " + resource + "입니다.");
     }
@@ -0,0 +1,31 @@
+package kr.salm.file.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.salm.file.service.MediaFileServer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 업로드 파일 전송 (Nginx 가 없는 환경 또는 accel-redirect 모드)
+ * - /videos/{yyyy}/... 만 처리 (/videos/{id}, /videos/upload 페이지와 구분)
+ */
+@Controller
+@RequiredArgsConstructor
+public class MediaController {
+
+    private final MediaFileServer mediaFileServer;
+
+    @RequestMapping(value = {"/videos/{year:[0-9]{4}}/**", "/thumbnails/**", "/clothes/**"},
+            method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length() + 1);
+        mediaFileServer.serve(UriUtils.decode(path, StandardCharsets.UTF_8), request, response);
+    }
+}
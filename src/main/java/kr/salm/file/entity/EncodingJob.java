@@ -0,0 +1,73 @@
+package kr.salm.file.entity;
+
+import jakarta.persistence.*;
+import kr.salm.community.entity.Video;
+import kr.salm.core.entity.BaseEntity;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 영상 인코딩 작업 (재시작 시 이어서 처리)
+ */
+@Entity
+@Table(name = "encoding_jobs", indexes = {
+    @Index(name = "idx_encoding_job_status", columnList = "status")
+})
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EncodingJob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "video_id", nullable = false, unique = true)
+    private Video video;
+
+    // 업로드 원본 (절대 경로)
+    @Column(nullable = false, length = 500)
+    private String sourcePath;
+
+    // 저장 위치 (yyyy/MM/dd + uuid)
+    @Column(nullable = false, length = 20)
+    private String datePath;
+
+    @Column(nullable = false, length = 36)
+    private String fileKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20) @Builder.Default
+    private EncodingJobStatus status = EncodingJobStatus.QUEUED;
+
+    @Column(nullable = false) @Builder.Default
+    private int attempts = 0;
+
+    @Column(length = 500)
+    private String errorMessage;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    public void start() {
+        this.status = EncodingJobStatus.RUNNING;
+        this.attempts++;
+        this.startedAt = LocalDateTime.now();
+        this.errorMessage = null;
+    }
+
+    public void complete() {
+        this.status = EncodingJobStatus.DONE;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void fail(String message) {
+        this.status = EncodingJobStatus.FAILED;
+        this.finishedAt = LocalDateTime.now();
+        this.errorMessage = message != null && message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -0,0 +1,5 @@
+package kr.salm.file.entity;
+
+public enum EncodingJobStatus {
+    QUEUED, RUNNING, DONE, FAILED
+}
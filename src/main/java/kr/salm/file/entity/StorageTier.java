@@ -0,0 +1,8 @@
+package kr.salm.file.entity;
+
+/**
+ * 저장 계층 (HOT: 기본, COLD: 오래 안 본 영상용 저가 저장소)
+ */
+public enum StorageTier {
+    HOT, COLD
+}
@@ -0,0 +1,61 @@
+package kr.salm.file.entity;
+
+import jakarta.persistence.*;
+import kr.salm.core.entity.BaseEntity;
+import lombok.*;
+
+/**
+ * 내용(SHA-256) 기준 인코딩 결과 공유
+ * - 같은 영상 재업로드 시 인코딩/저장 생략
+ * - refCount 0 이 된 blob 은 파일 정리 대상
+ */
+@Entity
+@Table(name = "video_blobs", indexes = {
+    @Index(name = "idx_video_blob_hash", columnList = "content_hash", unique = true)
+})
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoBlob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 500)
+    private String videoPath;
+
+    @Column(length = 500)
+    private String thumbnailPath;
+
+    @Column(length = 500)
+    private String manifestPath;
+
+    @Column(length = 500)
+    private String spritePath;
+
+    @Column(length = 500)
+    private String spriteVttPath;
+
+    @Column(length = 500)
+    private String previewPath;
+
+    @Column
+    private Integer duration;
+
+    @Column
+    private Integer width;
+
+    @Column
+    private Integer height;
+
+    @Column
+    private Long fileSize;
+
+    @Column(nullable = false) @Builder.Default
+    private int refCount = 1;
+}
@@ -0,0 +1,28 @@
+package kr.salm.file.repository;
+
+import kr.salm.file.entity.EncodingJob;
+import kr.salm.file.entity.EncodingJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.*;
+
+public interface EncodingJobRepository extends JpaRepository<EncodingJob, Long> {
+
+    @Query("SELECT j FROM EncodingJob j JOIN FETCH j.video WHERE j.id = :id")
+    Optional<EncodingJob> findWithVideoById(@Param("id") Long id);
+
+    // [jobId, authorId]
+    @Query("SELECT j.id, j.video.author.id FROM EncodingJob j WHERE j.status IN :statuses ORDER BY j.id")
+    List<Object[]> findQueueEntriesByStatusIn(@Param("statuses") Collection<EncodingJobStatus> statuses);
+
+    // [fileKey, authorId, sourcePath] (재시작 시 공간 예약 복원)
+    @Query("SELECT j.fileKey, j.video.author.id, j.sourcePath FROM EncodingJob j WHERE j.status IN :statuses")
+    List<Object[]> findSourcesByStatusIn(@Param("statuses") Collection<EncodingJobStatus> statuses);
+
+    // 중단된 작업(서버 재시작)을 대기 상태로 되돌림
+    @Modifying
+    @Query("UPDATE EncodingJob j SET j.status = kr.salm.file.entity.EncodingJobStatus.QUEUED WHERE j.status = kr.salm.file.entity.EncodingJobStatus.RUNNING")
+    int requeueInterrupted();
+}
@@ -0,0 +1,57 @@
+package kr.salm.file.repository;
+
+import jakarta.persistence.LockModeType;
+import kr.salm.file.entity.VideoBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+public interface VideoBlobRepository extends JpaRepository<VideoBlob, Long> {
+
+    Optional<VideoBlob> findByContentHash(String contentHash);
+
+    // 동시 등록 후 재조회 (잠금 읽기라 다른 트랜잭션이 방금 커밋한 행도 보임)
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT b FROM VideoBlob b WHERE b.contentHash = :hash")
+    Optional<VideoBlob> findLockedByContentHash(@Param("hash") String contentHash);
+
+    /**
+     * 첫 등록이면 1, 같은 해시가 이미 있으면 참조 수만 늘리고 2
+     */
+    @Modifying
+    @Query(value = "INSERT INTO video_blobs (content_hash, video_path, thumbnail_path, manifest_path, sprite_path, sprite_vtt_path, " +
+                   "preview_path, duration, width, height, file_size, ref_count, created_at, updated_at) " +
+                   "VALUES (:#{#blob.contentHash}, :#{#blob.videoPath}, :#{#blob.thumbnailPath}, :#{#blob.manifestPath}, " +
+                   ":#{#blob.spritePath}, :#{#blob.spriteVttPath}, :#{#blob.previewPath}, :#{#blob.duration}, :#{#blob.width}, " +
+                   ":#{#blob.height}, :#{#blob.fileSize}, 1, NOW(), NOW()) " +
+                   "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    int insertOrReference(@Param("blob") VideoBlob blob);
+
+    // 결과 파일이 없어진 blob 을 새 결과로 교체 (그 사이 다른 작업이 교체했으면 0)
+    @Modifying
+    @Query("UPDATE VideoBlob b SET b.videoPath = :#{#blob.videoPath}, b.thumbnailPath = :#{#blob.thumbnailPath}, " +
+           "b.manifestPath = :#{#blob.manifestPath}, b.spritePath = :#{#blob.spritePath}, b.spriteVttPath = :#{#blob.spriteVttPath}, " +
+           "b.previewPath = :#{#blob.previewPath}, b.duration = :#{#blob.duration}, b.width = :#{#blob.width}, " +
+           "b.height = :#{#blob.height}, b.fileSize = :#{#blob.fileSize}, b.refCount = b.refCount + 1 " +
+           "WHERE b.contentHash = :#{#blob.contentHash} AND b.videoPath = :stalePath")
+    int replaceOutputs(@Param("blob") VideoBlob blob, @Param("stalePath") String stalePath);
+
+    @Modifying
+    @Query("UPDATE VideoBlob b SET b.refCount = b.refCount + 1 WHERE b.contentHash = :hash")
+    int incrementRefCount(@Param("hash") String contentHash);
+
+    @Modifying
+    @Query("UPDATE VideoBlob b SET b.refCount = b.refCount - 1 WHERE b.contentHash = :hash AND b.refCount > 0")
+    int decrementRefCount(@Param("hash") String contentHash);
+
+    // 파일 정리 후 참조 없는 blob 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM VideoBlob b WHERE b.videoPath IN :paths AND b.refCount <= 0")
+    int deleteUnreferenced(@Param("paths") Collection<String> videoPaths);
+}
@@ -0,0 +1,78 @@
+package kr.salm.file.service;
+
+import kr.salm.file.entity.StorageTier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 업로드/인코딩 결과 저장소
+ * - key 는 웹 경로에서 앞의 "/" 를 뺀 값 ("videos/2024/01/01/x.mp4")
+ * - 인코딩은 로컬 작업 디렉토리에서 하고 결과만 move 로 등록
+ */
+public interface BlobStore {
+
+    /**
+     * 로컬 파일 복사 등록 (원본 파일은 그대로 둠)
+     */
+    void put(String key, Path file) throws IOException;
+
+    /**
+     * 로컬 파일 이동 등록 (성공하면 원본 파일은 없어짐, 저장 위치와 같으면 그대로)
+     */
+    default void move(String key, Path file) throws IOException {
+        put(key, file);
+        Files.deleteIfExists(file);
+    }
+
+    void put(String key, InputStream in, long length) throws IOException;
+
+    /**
+     * 로컬 파일로 내려받기
+     */
+    Path get(String key, Path target) throws IOException;
+
+    /**
+     * 부분 읽기 (length 바이트)
+     */
+    InputStream stream(String key, long offset, long length) throws IOException;
+
+    Optional<BlobInfo> stat(String key) throws IOException;
+
+    default boolean exists(String key) {
+        try {
+            return stat(key).isPresent();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    void delete(String key) throws IOException;
+
+    List<String> list(String prefix) throws IOException;
+
+    default void deletePrefix(String prefix) throws IOException {
+        for (String key : list(prefix)) {
+            delete(key);
+        }
+    }
+
+    void moveToTier(String key, StorageTier tier) throws IOException;
+
+    /**
+     * 로컬 디스크에 있으면 경로 (직접 전송용)
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    static String keyOf(String webPath) {
+        return webPath.startsWith("/") ? webPath.substring(1) : webPath;
+    }
+
+    record BlobInfo(long size, long lastModified, StorageTier tier) {}
+}
@@ -0,0 +1,345 @@
+package kr.salm.file.service;
+
+import kr.salm.core.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이어받기 가능한 분할 업로드 (tus 방식, offset 기반)
+ * - 조각을 FileChannel 로 바로 이어 씀 (multipart 버퍼링 없음)
+ * - 업로드 상태는 incoming/{id}.properties 에 저장 (재시작 후에도 이어받기)
+ * - 현재 offset 은 .part 파일 크기
+ * - 조각을 받을 때마다 두 파일 모두 수정 시각 갱신 (오래된 업로드 정리 기준)
+ * - 앞부분이 들어오는 대로 형식/길이 검사, 맞지 않으면 전송 중단 후 업로드 삭제 (415)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadService {
+
+    private static final long TRANSFER_BLOCK = 1024 * 1024;
+
+    private final VideoFileService videoFileService;
+    private final EncodingWorker encodingWorker;
+    private final StorageAdmission storageAdmission;
+
+    // 업로드별 SHA-256 진행 상태 (재시작 등으로 없으면 완료 시 파일을 다시 읽어 계산)
+    private final Map<String, DigestState> digests = new ConcurrentHashMap<>();
+
+    // 앞부분 검사가 끝난 업로드 (재시작 후에는 다음 조각에서 다시 검사)
+    private final Set<String> inspected = ConcurrentHashMap.newKeySet();
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    public UploadState create(Long userId, String filename, long length) {
+        videoFileService.validateUpload(filename, length);
+        encodingWorker.checkCapacity();
+
+        // 전송 시작 전에 원본 + 인코딩 결과 공간 예약 (완료 시 fileKey 로 넘김)
+        String uploadId = UUID.randomUUID().toString();
+        storageAdmission.reserveVideo(uploadId, userId, length);
+        try {
+            Files.createDirectories(incomingDir());
+            Files.createFile(partPath(uploadId));
+
+            Properties props = new Properties();
+            props.setProperty("userId", String.valueOf(userId));
+            props.setProperty("filename", filename);
+            props.setProperty("length", String.valueOf(length));
+            try (OutputStream out = Files.newOutputStream(statePath(uploadId))) {
+                props.store(out, null);
+            }
+        } catch (IOException e) {
+            storageAdmission.release(uploadId);
+            log.error("분할 업로드 생성 실패: {}", e.getMessage());
+            throw BusinessException.badRequest("업로드를 시작할 수 없습니다.");
+        }
+
+        digests.put(uploadId, new DigestState(VideoFileService.newDigest(), 0));
+        log.info("분할 업로드 생성: {} ({}, {} bytes)", uploadId, filename, length);
+        return new UploadState(uploadId, userId, filename, length, 0);
+    }
+
+    /**
+     * 재시작 후 남은 분할 업로드의 공간 예약 복원 (받은 만큼은 이미 디스크에 있음)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreReservations() {
+        Path dir = incomingDir();
+        if (!Files.isDirectory(dir)) return;
+
+        int restored = 0;
+        try (var files = Files.list(dir)) {
+            for (Path state : files.filter(f -> f.getFileName().toString().endsWith(".properties")).toList()) {
+                String name = state.getFileName().toString();
+                String uploadId = name.substring(0, name.length() - ".properties".length());
+                Properties props = new Properties();
+                try (InputStream in = Files.newInputStream(state)) {
+                    props.load(in);
+                    long landed = Files.size(partPath(uploadId));
+                    storageAdmission.restoreVideo(uploadId, Long.valueOf(props.getProperty("userId")),
+                            Long.parseLong(props.getProperty("length")), landed);
+                    restored++;
+                } catch (IOException | RuntimeException e) {
+                    log.warn("분할 업로드 예약 복원 실패: {} ({})", name, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("분할 업로드 목록 확인 실패: {}", e.getMessage());
+        }
+        if (restored > 0) {
+            log.info("분할 업로드 예약 {} 건 복원", restored);
+        }
+    }
+
+    public UploadState get(String uploadId, Long userId) {
+        Path state = statePath(uploadId);
+        if (!Files.exists(state)) {
+            throw BusinessException.notFound("업로드");
+        }
+
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(state)) {
+            props.load(in);
+            UploadState upload = new UploadState(
+                    uploadId,
+                    Long.valueOf(props.getProperty("userId")),
+                    props.getProperty("filename"),
+                    Long.parseLong(props.getProperty("length")),
+                    Files.size(partPath(uploadId)));
+            if (!upload.userId().equals(userId)) {
+                throw BusinessException.forbidden("접근 권한이 없습니다.");
+            }
+            return upload;
+        } catch (IOException e) {
+            throw BusinessException.notFound("업로드");
+        }
+    }
+
+    /**
+     * offset 위치에 조각 이어 쓰기
+     * @return 쓰기 후 offset
+     */
+    public long append(String uploadId, Long userId, long offset, InputStream body) {
+        UploadState upload = get(uploadId, userId);
+
+        try (FileChannel channel = FileChannel.open(partPath(uploadId), StandardOpenOption.WRITE)) {
+            FileLock lock = tryLock(channel);
+            if (lock == null) {
+                throw BusinessException.conflict("같은 업로드가 진행 중입니다.");
+            }
+            try {
+                long position = channel.size();
+                if (position != offset) {
+                    throw BusinessException.conflict("Upload-Offset 이 일치하지 않습니다. (현재 " + position + ")");
+                }
+
+                // 이어지는 조각이면 쓰면서 해시 계산
+                DigestState digestState = digests.remove(uploadId);
+                MessageDigest digest = digestState != null && digestState.offset() == position ? digestState.digest() : null;
+                InputStream in = digest != null ? new DigestInputStream(body, digest) : body;
+
+                ReadableByteChannel source = Channels.newChannel(in);
+                long remaining = upload.length() - position;
+                while (remaining > 0) {
+                    long n = channel.transferFrom(source, position, Math.min(remaining, TRANSFER_BLOCK));
+                    if (n <= 0) break;
+                    position += n;
+                    remaining -= n;
+                    storageAdmission.commit(uploadId, n);
+                    if (!inspected.contains(uploadId)
+                            && videoFileService.inspectPartial(partPath(uploadId), position, upload.filename())) {
+                        inspected.add(uploadId);
+                    }
+                }
+
+                if (remaining == 0 && body.read() != -1) {
+                    channel.truncate(upload.length());
+                    throw BusinessException.badRequest("Upload-Length 를 초과했습니다.");
+                }
+                if (digest != null) {
+                    digests.put(uploadId, new DigestState(digest, position));
+                }
+                Files.setLastModifiedTime(statePath(uploadId), FileTime.fromMillis(System.currentTimeMillis()));
+                return position;
+            } finally {
+                lock.release();
+            }
+        } catch (BusinessException e) {
+            if (e.getStatus() == HttpStatus.UNSUPPORTED_MEDIA_TYPE) {
+                log.info("분할 업로드 거부: {} ({})", uploadId, e.getMessage());
+                discard(uploadId);
+            }
+            throw e;
+        } catch (IOException e) {
+            // 중간에 끊겨도 쓰인 만큼은 유지 → HEAD 로 offset 확인 후 이어서 전송
+            log.warn("분할 업로드 중단: {} ({})", uploadId, e.getMessage());
+            throw BusinessException.badRequest("업로드가 중단되었습니다.");
+        }
+    }
+
+    /**
+     * 전송 완료된 업로드를 원본 저장 위치로 넘김
+     */
+    public VideoFileService.StoredUpload finish(String uploadId, Long userId) {
+        UploadState upload = get(uploadId, userId);
+        if (upload.offset() != upload.length()) {
+            throw BusinessException.conflict("업로드가 완료되지 않았습니다. (" + upload.offset() + "/" + upload.length() + ")");
+        }
+
+        inspected.remove(uploadId);
+        DigestState digestState = digests.remove(uploadId);
+        String contentHash;
+        try {
+            contentHash = digestState != null && digestState.offset() == upload.length()
+                    ? HexFormat.of().formatHex(digestState.digest().digest())
+                    : videoFileService.sha256(partPath(uploadId));
+        } catch (IOException e) {
+            throw BusinessException.badRequest("업로드 파일을 읽을 수 없습니다.");
+        }
+
+        var stored = videoFileService.adopt(partPath(uploadId), upload.filename(), contentHash);
+        videoFileService.deleteQuietly(statePath(uploadId));
+        storageAdmission.transfer(uploadId, stored.fileKey());
+        return stored;
+    }
+
+    public void cancel(String uploadId, Long userId) {
+        get(uploadId, userId);
+        discard(uploadId);
+    }
+
+    private void discard(String uploadId) {
+        digests.remove(uploadId);
+        inspected.remove(uploadId);
+        storageAdmission.release(uploadId);
+        videoFileService.deleteQuietly(partPath(uploadId));
+        videoFileService.deleteQuietly(statePath(uploadId));
+    }
+
+    /**
+     * 오래 갱신되지 않은 분할 업로드 정리 (파일 정리 작업에서 호출)
+     * - .part / .properties 를 업로드 단위로 묶어 둘 중 최근 수정 시각 기준
+     * - 조각을 받는 중이면 (.part 잠금 실패) 건너뜀, 잠근 상태에서 두 파일 삭제 후 예약 해제
+     * @return 삭제(dry-run 이면 대상) 바이트 수
+     */
+    public long purgeStale(long maxIdleMillis, boolean dryRun) throws IOException {
+        Path dir = incomingDir();
+        if (!Files.isDirectory(dir)) return 0;
+
+        Map<String, List<Path>> uploads = new HashMap<>();
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                String uploadId = name.substring(0, name.indexOf('.') > 0 ? name.indexOf('.') : name.length());
+                uploads.computeIfAbsent(uploadId, k -> new ArrayList<>()).add(file);
+            }
+        }
+
+        long cutoff = System.currentTimeMillis() - maxIdleMillis;
+        long bytes = 0;
+        for (Map.Entry<String, List<Path>> upload : uploads.entrySet()) {
+            List<Path> files = upload.getValue();
+            if (lastModified(files) >= cutoff) continue;
+            if (dryRun) {
+                bytes += size(files);
+            } else {
+                bytes += purge(upload.getKey(), files, cutoff);
+            }
+        }
+        return bytes;
+    }
+
+    // .part 를 잠근 상태에서 다시 확인 후 삭제, 조각 수신 중이거나 그 사이 갱신됐으면 0
+    private long purge(String uploadId, List<Path> files, long cutoff) throws IOException {
+        Path part = files.stream().filter(f -> f.getFileName().toString().endsWith(".part")).findFirst().orElse(null);
+        long bytes;
+        if (part == null) {
+            bytes = size(files);
+            files.forEach(videoFileService::deleteQuietly);
+        } else {
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+                FileLock lock = tryLock(channel);
+                if (lock == null || lastModified(files) >= cutoff) return 0;
+                bytes = size(files);
+                files.forEach(videoFileService::deleteQuietly);
+            } catch (NoSuchFileException e) {
+                return 0;  // 그 사이 완료/취소
+            }
+        }
+
+        digests.remove(uploadId);
+        inspected.remove(uploadId);
+        storageAdmission.release(uploadId);
+        return bytes;
+    }
+
+    private long lastModified(List<Path> files) throws IOException {
+        long newest = 0;
+        for (Path file : files) {
+            if (Files.exists(file)) newest = Math.max(newest, Files.getLastModifiedTime(file).toMillis());
+        }
+        return newest;
+    }
+
+    private long size(List<Path> files) throws IOException {
+        long total = 0;
+        for (Path file : files) {
+            if (Files.exists(file)) total += Files.size(file);
+        }
+        return total;
+    }
+
+    // 같은 JVM 의 다른 스레드가 잠근 경우도 null
+    private FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private Path incomingDir() {
+        return Paths.get(uploadDir, "incoming");
+    }
+
+    private Path partPath(String uploadId) {
+        return incomingDir().resolve(validId(uploadId) + ".part");
+    }
+
+    private Path statePath(String uploadId) {
+        return incomingDir().resolve(validId(uploadId) + ".properties");
+    }
+
+    // 경로 조작 방지
+    private String validId(String uploadId) {
+        try {
+            return UUID.fromString(uploadId).toString();
+        } catch (IllegalArgumentException e) {
+            throw BusinessException.notFound("업로드");
+        }
+    }
+
+    private record DigestState(MessageDigest digest, long offset) {}
+
+    public record UploadState(String uploadId, Long userId, String filename, long length, long offset) {}
+}
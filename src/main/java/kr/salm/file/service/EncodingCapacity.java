@@ -0,0 +1,65 @@
+package kr.salm.file.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * 인코딩 동시 실행 수 / ffmpeg 스레드 수 계산
+ * - CPU 예산 = 코어 수 × cpu-budget (웹 요청 처리용 여유 확보)
+ * - 작업당 스레드 2~4 개 (x264 는 스레드가 많을수록 효율이 떨어짐)
+ * - 동시 ffmpeg 프로세스 = slots: 워커는 작업마다 1 개, 구간 병렬 인코딩은 남는 만큼 빌려 씀
+ */
+@Slf4j
+@Getter
+@Component
+public class EncodingCapacity {
+
+    private final int cores;
+    private final int slots;
+    private final int threadsPerJob;
+    private final int queueCapacity;
+    @Getter(AccessLevel.NONE)
+    private final Semaphore processes;
+
+    public EncodingCapacity(@Value("${file.video.encoding.cpu-budget:0.75}") double cpuBudget,
+                            @Value("${file.video.encoding.threads-per-job:0}") int threadsPerJob,
+                            @Value("${file.video.encoding.queue-capacity:30}") int queueCapacity) {
+        this.cores = Runtime.getRuntime().availableProcessors();
+        int budgetCores = Math.max(1, (int) Math.round(cores * cpuBudget));
+        this.threadsPerJob = threadsPerJob > 0
+                ? Math.min(threadsPerJob, budgetCores)
+                : Math.max(1, Math.min(4, budgetCores / 2));
+        this.slots = Math.max(1, budgetCores / this.threadsPerJob);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.processes = new Semaphore(this.slots);
+
+        log.info("인코딩 용량: 코어 {} → 동시 {} 작업 × ffmpeg 스레드 {}, 대기열 {}",
+                cores, slots, this.threadsPerJob, this.queueCapacity);
+    }
+
+    // 작업 1 개 실행 (빈 자리가 날 때까지 대기)
+    public void acquire() throws InterruptedException {
+        processes.acquire();
+    }
+
+    /**
+     * 추가 ffmpeg 프로세스 자리를 최대 max 개까지 대기 없이 빌림
+     * @return 빌린 개수 (release 로 반납)
+     */
+    public int borrow(int max) {
+        int borrowed = 0;
+        while (borrowed < max && processes.tryAcquire()) {
+            borrowed++;
+        }
+        return borrowed;
+    }
+
+    public void release(int count) {
+        if (count > 0) processes.release(count);
+    }
+}
@@ -0,0 +1,267 @@
+package kr.salm.file.service;
+
+import kr.salm.community.entity.Video;
+import kr.salm.community.entity.VideoStatus;
+import kr.salm.community.repository.VideoRepository;
+import kr.salm.community.service.TagService;
+import kr.salm.community.service.VideoSearchIndex;
+import kr.salm.core.exception.BusinessException;
+import kr.salm.file.entity.EncodingJob;
+import kr.salm.file.entity.EncodingJobStatus;
+import kr.salm.file.entity.VideoBlob;
+import kr.salm.file.repository.EncodingJobRepository;
+import kr.salm.file.repository.VideoBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * 인코딩 작업 상태 전이 (각 단계는 짧은 트랜잭션으로 처리)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EncodingJobService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final EncodingJobRepository jobRepository;
+    private final VideoRepository videoRepository;
+    private final VideoBlobRepository blobRepository;
+    private final VideoFileService videoFileService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TagService tagService;
+    private final TransactionTemplate transactionTemplate;
+    private final StorageAdmission storageAdmission;
+
+    /**
+     * PENDING 상태 영상과 인코딩 작업 등록 (커밋 후 워커에 전달)
+     * - 같은 내용의 인코딩 결과가 있으면 재사용하고 READY 로 바로 등록
+     *   (이 경우 업로드 원본은 호출 측에서 삭제)
+     * - 결과 파일 확인(S3 면 HEAD 요청)은 트랜잭션 밖에서
+     */
+    public Video submit(Video video, VideoFileService.StoredUpload stored) {
+        VideoBlob reusable = findUsableBlob(stored.contentHash());
+        return transactionTemplate.execute(status -> register(video, stored, reusable));
+    }
+
+    private Video register(Video video, VideoFileService.StoredUpload stored, VideoBlob reusable) {
+        video.setContentHash(stored.contentHash());
+
+        // 확인 후 blob 이 정리됐으면 증가 대상이 없으므로 새로 인코딩
+        if (reusable != null && blobRepository.incrementRefCount(stored.contentHash()) > 0) {
+            applyBlob(video, reusable);
+            log.info("중복 영상 재사용: {}", reusable.getVideoPath());
+            Video saved = videoRepository.save(video);
+            eventPublisher.publishEvent(new VideoSearchIndex.VideoChanged(saved.getId()));
+            return saved;
+        }
+
+        video.setStatus(VideoStatus.PENDING);
+        Video saved = videoRepository.save(video);
+
+        EncodingJob job = jobRepository.save(EncodingJob.builder()
+                .video(saved)
+                .sourcePath(stored.path().toString())
+                .datePath(stored.datePath())
+                .fileKey(stored.fileKey())
+                .build());
+
+        eventPublisher.publishEvent(new JobCreated(job.getId(), saved.getAuthor().getId()));
+        return saved;
+    }
+
+    @Transactional
+    public Optional<JobTicket> start(Long jobId) {
+        EncodingJob job = jobRepository.findWithVideoById(jobId).orElse(null);
+        if (job == null || job.getStatus() != EncodingJobStatus.QUEUED) {
+            return Optional.empty();
+        }
+
+        Video video = job.getVideo();
+        // 실행하지 않고 끝나는 작업도 공간 예약 해제 (예약 수명 = 작업)
+        if (video.isDeleted()) {
+            job.fail("삭제된 영상");
+            video.setStatus(VideoStatus.FAILED);
+            storageAdmission.release(job.getFileKey());
+            return Optional.empty();
+        }
+        if (job.getAttempts() >= MAX_ATTEMPTS) {
+            job.fail("재시도 횟수 초과");
+            video.setStatus(VideoStatus.FAILED);
+            tagService.detach(video);
+            storageAdmission.release(job.getFileKey());
+            return Optional.empty();
+        }
+
+        job.start();
+        video.setStatus(VideoStatus.PROBING);
+        return Optional.of(new JobTicket(job.getId(), video.getId(), job.getSourcePath(), job.getDatePath(), job.getFileKey()));
+    }
+
+    @Transactional
+    public void markEncoding(Long videoId) {
+        videoRepository.findById(videoId).ifPresent(v -> v.setStatus(VideoStatus.ENCODING));
+    }
+
+    /**
+     * 인코딩 완료 기록 + 내용 해시로 blob 등록
+     * - 기존 blob 결과 파일 확인은 트랜잭션 밖에서
+     * - 같은 내용의 첫 완료가 동시에 일어나면 unique(content_hash) 에 맡겨 한쪽만 등록하고 나머지는 공유
+     * - 대기 중 삭제된 영상은 참조를 늘리지 않음
+     * @return 이번 결과를 쓰지 않게 되면 true (호출 측에서 결과 파일 삭제)
+     */
+    public boolean complete(Long jobId, VideoFileService.VideoUploadResult result) {
+        String hash = jobRepository.findWithVideoById(jobId)
+                .map(job -> job.getVideo().getContentHash())
+                .orElseThrow(() -> BusinessException.notFound("인코딩 작업"));
+        VideoBlob existing = hash != null ? blobRepository.findByContentHash(hash).orElse(null) : null;
+        boolean usable = existing != null && videoFileService.outputsExist(existing.getVideoPath());
+
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> record(jobId, result, hash, existing, usable)));
+    }
+
+    private boolean record(Long jobId, VideoFileService.VideoUploadResult result, String hash,
+                           VideoBlob existing, boolean usable) {
+        EncodingJob job = jobRepository.findWithVideoById(jobId)
+                .orElseThrow(() -> BusinessException.notFound("인코딩 작업"));
+        Video video = job.getVideo();
+        job.complete();
+        if (video.isDeleted()) {
+            video.setStatus(VideoStatus.FAILED);
+            return true;
+        }
+        eventPublisher.publishEvent(new VideoSearchIndex.VideoChanged(video.getId()));
+
+        VideoBlob mine = toBlob(hash, result);
+        if (hash == null) {
+            applyBlob(video, mine);
+            return false;
+        }
+
+        if (usable) {
+            // 같은 영상이 동시에 업로드된 경우 먼저 끝난 결과 공유
+            if (blobRepository.incrementRefCount(hash) > 0) {
+                applyBlob(video, existing);
+                return true;
+            }
+            // 확인 후 정리된 경우 새로 등록
+            existing = null;
+        }
+
+        if (existing == null) {
+            if (blobRepository.insertOrReference(mine) == 1) {
+                applyBlob(video, mine);
+                return false;
+            }
+            // 다른 작업이 먼저 등록 (참조 수는 위 문장에서 증가됨)
+        } else {
+            // 결과 파일이 없어진 blob 은 이번 결과로 교체
+            if (blobRepository.replaceOutputs(mine, existing.getVideoPath()) > 0) {
+                applyBlob(video, mine);
+                return false;
+            }
+            // 그 사이 파일 정리가 blob 행을 지웠으면 이번 결과로 새로 등록
+            if (blobRepository.incrementRefCount(hash) == 0 && blobRepository.insertOrReference(mine) == 1) {
+                applyBlob(video, mine);
+                return false;
+            }
+        }
+
+        VideoBlob winner = blobRepository.findLockedByContentHash(hash)
+                .orElseThrow(() -> BusinessException.notFound("영상 blob"));
+        applyBlob(video, winner);
+        return true;
+    }
+
+    /**
+     * 영상 삭제 시 blob 참조 해제 (0 이 되면 파일 정리 대상)
+     * - 인코딩 전(READY 아님)에는 참조를 잡고 있지 않음
+     */
+    @Transactional
+    public void release(Video video) {
+        if (video.getContentHash() != null && video.isReady()) {
+            blobRepository.decrementRefCount(video.getContentHash());
+        }
+    }
+
+    private VideoBlob findUsableBlob(String hash) {
+        if (hash == null) return null;
+        return blobRepository.findByContentHash(hash)
+                .filter(b -> videoFileService.outputsExist(b.getVideoPath()))
+                .orElse(null);
+    }
+
+    private VideoBlob toBlob(String hash, VideoFileService.VideoUploadResult result) {
+        return VideoBlob.builder()
+                .contentHash(hash)
+                .videoPath(result.videoPath())
+                .thumbnailPath(result.thumbnailPath())
+                .manifestPath(result.manifestPath())
+                .spritePath(result.spritePath())
+                .spriteVttPath(result.spriteVttPath())
+                .previewPath(result.previewPath())
+                .duration(result.metadata().duration())
+                .width(result.metadata().width())
+                .height(result.metadata().height())
+                .fileSize(result.metadata().fileSize())
+                .refCount(1)
+                .build();
+    }
+
+    private void applyBlob(Video video, VideoBlob blob) {
+        video.setVideoPath(blob.getVideoPath());
+        video.setThumbnailPath(blob.getThumbnailPath());
+        video.setManifestPath(blob.getManifestPath());
+        video.setSpritePath(blob.getSpritePath());
+        video.setSpriteVttPath(blob.getSpriteVttPath());
+        video.setPreviewPath(blob.getPreviewPath());
+        video.setDuration(blob.getDuration());
+        video.setWidth(blob.getWidth());
+        video.setHeight(blob.getHeight());
+        video.setFileSize(blob.getFileSize());
+        video.setStatus(VideoStatus.READY);
+    }
+
+    @Transactional
+    public void fail(Long jobId, String message) {
+        jobRepository.findWithVideoById(jobId).ifPresent(job -> {
+            job.fail(message);
+            job.getVideo().setStatus(VideoStatus.FAILED);
+            tagService.detach(job.getVideo());
+        });
+    }
+
+    /**
+     * 서버 재시작 시 중단/대기 작업 목록
+     */
+    @Transactional
+    public List<JobCreated> recover() {
+        int interrupted = jobRepository.requeueInterrupted();
+        if (interrupted > 0) {
+            log.info("중단된 인코딩 작업 {} 건 재등록", interrupted);
+        }
+        return jobRepository.findQueueEntriesByStatusIn(List.of(EncodingJobStatus.QUEUED)).stream()
+                .map(row -> new JobCreated((Long) row[0], (Long) row[1]))
+                .toList();
+    }
+
+    /**
+     * 대기 작업의 원본 (recover 이후 호출, 재시작 시 공간 예약 복원용)
+     */
+    @Transactional(readOnly = true)
+    public List<PendingSource> pendingSources() {
+        return jobRepository.findSourcesByStatusIn(List.of(EncodingJobStatus.QUEUED)).stream()
+                .map(row -> new PendingSource((String) row[0], (Long) row[1], (String) row[2]))
+                .toList();
+    }
+
+    public record JobCreated(Long jobId, Long userId) {}
+    public record PendingSource(String fileKey, Long userId, String sourcePath) {}
+    public record JobTicket(Long jobId, Long videoId, String sourcePath, String datePath, String fileKey) {}
+}
@@ -0,0 +1,183 @@
+package kr.salm.file.service;
+
+import jakarta.annotation.PreDestroy;
+import kr.salm.community.entity.VideoStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 인코딩 진행 상황 (메모리)
+ * - 워커가 단계/진행률 기록, 구독자(SSE)에 변경 알림
+ * - 알림은 별도 스레드에서 구독자별 최신 값만 전달 (느린 클라이언트가 ffmpeg 출력 소비를 막지 않음)
+ * - 끝난 항목은 잠시 유지 후 정리 (DB 상태가 기준)
+ */
+@Slf4j
+@Component
+public class EncodingProgressRegistry {
+
+    private static final long RETAIN_MILLIS = 60_000;
+    private static final int NOTIFY_THREADS = 4;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService notifier = newNotifier();
+
+    public record EncodingProgress(Long videoId, VideoStatus status, int percent, Integer etaSeconds) {
+        public boolean isTerminal() {
+            return status == VideoStatus.READY || status == VideoStatus.FAILED;
+        }
+    }
+
+    private static class Entry {
+        final long startedAt = System.currentTimeMillis();
+        volatile EncodingProgress progress;
+        volatile long finishedAt;
+
+        Entry(EncodingProgress progress) {
+            this.progress = progress;
+        }
+    }
+
+    // 전달 대기 중인 최신 값 (밀린 중간 값은 덮어씀)
+    private static class Subscriber {
+        final Consumer<EncodingProgress> consumer;
+        final AtomicReference<EncodingProgress> latest = new AtomicReference<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Subscriber(Consumer<EncodingProgress> consumer) {
+            this.consumer = consumer;
+        }
+    }
+
+    /**
+     * 처리 시작 (PROBING)
+     */
+    public void begin(Long videoId) {
+        evictFinished();
+        Entry entry = new Entry(new EncodingProgress(videoId, VideoStatus.PROBING, 0, null));
+        entries.put(videoId, entry);
+        publish(entry.progress);
+    }
+
+    /**
+     * 처리 작업을 videoId 에 묶은 리스너
+     */
+    public ProcessingListener listener(Long videoId, Runnable onEncodingStart) {
+        return new ProcessingListener() {
+            @Override
+            public void onEncodingStart() {
+                onEncodingStart.run();
+                update(videoId, VideoStatus.ENCODING, 0);
+            }
+
+            @Override
+            public void onProgress(double fraction) {
+                update(videoId, VideoStatus.ENCODING, fraction);
+            }
+        };
+    }
+
+    public void finish(Long videoId, VideoStatus status) {
+        Entry entry = entries.get(videoId);
+        if (entry == null) return;
+        entry.progress = new EncodingProgress(videoId, status, status == VideoStatus.READY ? 100 : entry.progress.percent(), null);
+        entry.finishedAt = System.currentTimeMillis();
+        publish(entry.progress);
+    }
+
+    public Optional<EncodingProgress> get(Long videoId) {
+        Entry entry = entries.get(videoId);
+        return entry == null ? Optional.empty() : Optional.of(entry.progress);
+    }
+
+    /**
+     * 변경 구독 (알림 스레드에서 호출됨)
+     * @return 구독 해제
+     */
+    public Runnable subscribe(Long videoId, Consumer<EncodingProgress> consumer) {
+        Subscriber subscriber = new Subscriber(consumer);
+        subscribers.computeIfAbsent(videoId, id -> new CopyOnWriteArraySet<>()).add(subscriber);
+        return () -> subscribers.computeIfPresent(videoId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void update(Long videoId, VideoStatus status, double fraction) {
+        Entry entry = entries.get(videoId);
+        if (entry == null) return;
+
+        int percent = (int) Math.max(0, Math.min(99, Math.floor(fraction * 100)));
+        EncodingProgress previous = entry.progress;
+        // 같은 단계에서 퍼센트가 그대로면 알리지 않음
+        if (previous.status() == status && previous.percent() >= percent && percent > 0) return;
+
+        entry.progress = new EncodingProgress(videoId, status, percent, eta(entry, fraction));
+        publish(entry.progress);
+    }
+
+    // 경과 시간 / 진행률 기준 남은 시간
+    private Integer eta(Entry entry, double fraction) {
+        if (fraction < 0.02) return null;
+        double elapsed = (System.currentTimeMillis() - entry.startedAt) / 1000.0;
+        return (int) Math.ceil(elapsed * (1 - fraction) / fraction);
+    }
+
+    // 호출 스레드(ffmpeg 출력 소비)는 값만 기록하고 바로 반환
+    private void publish(EncodingProgress progress) {
+        Set<Subscriber> set = subscribers.get(progress.videoId());
+        if (set == null) return;
+        for (Subscriber subscriber : set) {
+            subscriber.latest.set(progress);
+            if (subscriber.scheduled.compareAndSet(false, true)) {
+                notifier.execute(() -> deliver(subscriber));
+            }
+        }
+    }
+
+    private void deliver(Subscriber subscriber) {
+        do {
+            EncodingProgress progress;
+            while ((progress = subscriber.latest.getAndSet(null)) != null) {
+                try {
+                    subscriber.consumer.accept(progress);
+                } catch (Exception e) {
+                    log.debug("진행률 알림 실패: video={}, {}", progress.videoId(), e.getMessage());
+                }
+            }
+            subscriber.scheduled.set(false);
+            // 해제 직후 들어온 값은 이 스레드가 이어서 전달
+        } while (subscriber.latest.get() != null && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private static ExecutorService newNotifier() {
+        AtomicInteger seq = new AtomicInteger();
+        return Executors.newFixedThreadPool(NOTIFY_THREADS, r -> {
+            Thread t = new Thread(r, "progress-notify-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        notifier.shutdownNow();
+    }
+
+    private void evictFinished() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> e.finishedAt > 0 && now - e.finishedAt > RETAIN_MILLIS);
+    }
+}
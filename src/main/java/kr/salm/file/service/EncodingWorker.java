@@ -0,0 +1,187 @@
+package kr.salm.file.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.salm.community.entity.VideoStatus;
+import kr.salm.core.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * encoding_jobs 처리 워커
+ * - 업로드 요청 스레드/DB 커넥션을 인코딩 동안 점유하지 않음
+ * - 재시작 시 중단된 작업 재개
+ * - 동시 실행 수는 EncodingCapacity, 순서는 업로더별 라운드로빈
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EncodingWorker {
+
+    private final EncodingJobService jobService;
+    private final VideoFileService videoFileService;
+    private final EncodingCapacity capacity;
+    private final EncodingProgressRegistry progressRegistry;
+    private final StorageAdmission storageAdmission;
+
+    private FairJobQueue queue;
+    private final AtomicInteger running = new AtomicInteger();
+    private ExecutorService executor;
+
+    // 작업 소요 시간 이동 평균 (Retry-After 계산용)
+    private volatile double avgJobSeconds = 60;
+
+    private volatile boolean stopping = false;
+
+    @PostConstruct
+    public void start() {
+        queue = new FairJobQueue(capacity.getQueueCapacity());
+        executor = Executors.newFixedThreadPool(capacity.getSlots());
+        for (int i = 0; i < capacity.getSlots(); i++) {
+            executor.submit(this::loop);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        List<EncodingJobService.JobCreated> jobs = jobService.recover();
+        if (!jobs.isEmpty()) {
+            log.info("인코딩 작업 {} 건 재개", jobs.size());
+        }
+        // 원본은 이미 디스크에 있으므로 인코딩 결과분만 예약
+        for (EncodingJobService.PendingSource source : jobService.pendingSources()) {
+            try {
+                long size = Files.size(Paths.get(source.sourcePath()));
+                storageAdmission.restoreVideo(source.fileKey(), source.userId(), size, size);
+            } catch (IOException e) {
+                log.warn("인코딩 원본 확인 실패: {} ({})", source.sourcePath(), e.getMessage());
+            }
+        }
+        jobs.forEach(job -> enqueue(job.userId(), job.jobId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onJobCreated(EncodingJobService.JobCreated event) {
+        enqueue(event.userId(), event.jobId());
+    }
+
+    public void enqueue(Long userId, Long jobId) {
+        queue.offer(userId, jobId);
+    }
+
+    /**
+     * 업로드 접수: 대기열 자리를 원자적으로 예약 (가득 차면 503 + Retry-After)
+     * - 작업이 등록되면 onJobCreated 의 enqueue 가 자리를 채움
+     * - 작업 없이 끝나면(실패, 기존 결과 재사용) 호출 측에서 cancelAdmission
+     */
+    public void admit() {
+        if (!queue.reserve()) {
+            throw unavailable();
+        }
+    }
+
+    public void cancelAdmission() {
+        queue.release();
+    }
+
+    /**
+     * 분할 업로드 시작 전 조기 거절 (자리는 잡지 않음, 실제 접수는 완료 시 admit)
+     */
+    public void checkCapacity() {
+        if (queue.isFull()) {
+            throw unavailable();
+        }
+    }
+
+    private BusinessException unavailable() {
+        return BusinessException.unavailable("업로드가 많아 잠시 후 다시 시도해주세요.", retryAfterSeconds());
+    }
+
+    // 대기 작업이 모두 빠질 때까지 예상 시간
+    public int retryAfterSeconds() {
+        int waiting = queue.size() + running.get();
+        double seconds = avgJobSeconds * Math.max(1, waiting) / capacity.getSlots();
+        return (int) Math.max(5, Math.min(600, Math.ceil(seconds)));
+    }
+
+    public int queueSize() {
+        return queue.size();
+    }
+
+    private void loop() {
+        while (!stopping) {
+            try {
+                Long jobId = queue.poll(1, TimeUnit.SECONDS);
+                if (jobId == null) continue;
+
+                capacity.acquire();
+                running.incrementAndGet();
+                long start = System.nanoTime();
+                try {
+                    run(jobId);
+                } finally {
+                    running.decrementAndGet();
+                    capacity.release(1);
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    avgJobSeconds = avgJobSeconds * 0.8 + seconds * 0.2;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("인코딩 워커 오류: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void run(Long jobId) {
+        var ticket = jobService.start(jobId).orElse(null);
+        if (ticket == null) return;
+
+        Path source = Paths.get(ticket.sourcePath());
+        progressRegistry.begin(ticket.videoId());
+        try {
+            var result = videoFileService.process(source, ticket.datePath(), ticket.fileKey(),
+                    progressRegistry.listener(ticket.videoId(), () -> jobService.markEncoding(ticket.videoId())));
+            boolean superseded = jobService.complete(jobId, result);
+            if (superseded) {
+                videoFileService.deleteOutputs(result);
+            }
+            videoFileService.deleteQuietly(source);
+            storageAdmission.release(ticket.fileKey());
+            progressRegistry.finish(ticket.videoId(), VideoStatus.READY);
+        } catch (Exception e) {
+            if (stopping) {
+                // RUNNING 상태 유지 → 재시작 시 재개
+                log.warn("서버 종료로 인코딩 중단: job={}", jobId);
+                return;
+            }
+            log.error("인코딩 작업 실패: job={}, {}", jobId, e.getMessage());
+            jobService.fail(jobId, e.getMessage());
+            videoFileService.deleteQuietly(source);
+            storageAdmission.release(ticket.fileKey());
+            progressRegistry.finish(ticket.videoId(), VideoStatus.FAILED);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        executor.shutdownNow();
+    }
+}
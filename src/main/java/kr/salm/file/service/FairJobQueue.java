@@ -0,0 +1,116 @@
+package kr.salm.file.service;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 업로더별 라운드로빈 작업 대기열
+ * - 사용자별 FIFO, 꺼낼 때는 사용자를 번갈아 가며 선택
+ * - 한 사용자가 여러 개를 올려도 다른 사용자 작업이 뒤로 밀리지 않음
+ * - 접수 한도: reserve() 가 대기 + 예약 수를 한도와 비교해 한 번에 자리를 잡음
+ *   (예약된 자리는 offer 로 채우거나 release 로 반납)
+ */
+class FairJobQueue {
+
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Map<Long, Deque<Long>> queues = new HashMap<>();
+    private final Deque<Long> turns = new ArrayDeque<>();
+    private int size;
+    private int reserved;
+
+    FairJobQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 자리 예약 (대기 + 예약이 한도 이상이면 false)
+     */
+    public boolean reserve() {
+        lock.lock();
+        try {
+            if (size + reserved >= capacity) return false;
+            reserved++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            if (reserved > 0) reserved--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 예약된 자리에 작업 추가 (재시작 복구처럼 이미 등록된 작업은 예약 없이도 받음)
+     */
+    public void offer(Long userId, Long jobId) {
+        lock.lock();
+        try {
+            if (reserved > 0) reserved--;
+            Deque<Long> queue = queues.computeIfAbsent(userId, k -> new ArrayDeque<>());
+            if (queue.isEmpty()) {
+                turns.addLast(userId);
+            }
+            queue.addLast(jobId);
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다음 차례 작업 (없으면 timeout 동안 대기, 그래도 없으면 null)
+     */
+    public Long poll(long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = unit.toNanos(timeout);
+            while (size == 0) {
+                if (nanos <= 0) return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+
+            Long userId = turns.pollFirst();
+            Deque<Long> queue = queues.get(userId);
+            Long jobId = queue.pollFirst();
+            if (queue.isEmpty()) {
+                queues.remove(userId);
+            } else {
+                turns.addLast(userId);
+            }
+            size--;
+            return jobId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isFull() {
+        lock.lock();
+        try {
+            return size + reserved >= capacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package kr.salm.file.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+
+/**
+ * ffmpeg 프로세스 실행 (로그 소비 + 타임아웃 + 종료 코드 확인)
+ * - 출력은 별도 스레드가 소비하고 호출 스레드는 timeoutMinutes 동안만 대기, 초과 시 강제 종료
+ * - onOutTime 지정 시 -progress pipe:1 -nostats 로 실행하고
+ *   key=value 진행 출력에서 out_time_us(초 단위로 변환)를 전달
+ */
+@Slf4j
+@Component
+public class FfmpegRunner {
+
+    public void run(List<String> command, long timeoutMinutes, String label) throws Exception {
+        run(command, timeoutMinutes, label, null);
+    }
+
+    public void run(List<String> command, long timeoutMinutes, String label, DoubleConsumer onOutTime) throws Exception {
+        List<String> cmd = command;
+        if (onOutTime != null) {
+            cmd = new ArrayList<>(command);
+            cmd.addAll(1, List.of("-progress", "pipe:1", "-nostats"));
+        }
+
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        pb.redirectErrorStream(true);
+        Process process = pb.start();
+
+        // 출력은 별도 스레드에서 소비 (EOF 까지 기다리면 멈춘 ffmpeg 에 타임아웃이 걸리지 않음)
+        Thread drain = new Thread(() -> drain(process, label, onOutTime), "ffmpeg-out-" + label);
+        drain.setDaemon(true);
+        drain.start();
+
+        boolean finished;
+        try {
+            finished = process.waitFor(timeoutMinutes, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+        if (!finished) {
+            process.destroyForcibly();
+            throw new RuntimeException(label + " 타임아웃");
+        }
+        // 남은 출력(마지막 진행률 등)까지 전달
+        drain.join(TimeUnit.SECONDS.toMillis(5));
+
+        if (process.exitValue() != 0) {
+            throw new RuntimeException(label + " 실패: exit code " + process.exitValue());
+        }
+    }
+
+    private void drain(Process process, String label, DoubleConsumer onOutTime) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (onOutTime != null && handleProgress(line, onOutTime)) continue;
+                // 로그 출력 (디버깅용)
+                if (line.contains("error")) {
+                    log.debug("ffmpeg: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            // 타임아웃으로 강제 종료되면 스트림이 닫힘
+            log.debug("{} 출력 읽기 종료: {}", label, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("{} 진행 처리 실패: {}", label, e.getMessage());
+        }
+    }
+
+    /**
+     * -progress 출력 한 줄 처리 (정규식 없이 key=value 분리)
+     * - out_time_ms 도 실제 값은 마이크로초 (ffmpeg 호환)
+     * @return 진행 출력이면 true
+     */
+    private boolean handleProgress(String line, DoubleConsumer onOutTime) {
+        int eq = line.indexOf('=');
+        if (eq <= 0 || line.indexOf(' ') >= 0 && line.indexOf(' ') < eq) return false;
+
+        if (line.startsWith("out_time_us") || line.startsWith("out_time_ms")) {
+            long micros = parseLong(line, eq + 1);
+            if (micros >= 0) {
+                onOutTime.accept(micros / 1_000_000.0);
+            }
+        }
+        return true;
+    }
+
+    // 숫자가 아니면(N/A 등) -1
+    private long parseLong(String s, int from) {
+        if (from >= s.length()) return -1;
+        long value = 0;
+        for (int i = from; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,118 @@
+package kr.salm.file.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.DoubleConsumer;
+
+/**
+ * HLS 적응형 비트레이트 출력 (fMP4 세그먼트)
+ * - 360p/540p/720p/1080p (원본보다 큰 화질은 생략)
+ * - 한 번 디코딩 후 split 필터로 모든 화질 동시 인코딩
+ * - 화질 간 키프레임 정렬 (2초 GOP, 4초 세그먼트)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HlsLadderEncoder {
+
+    public static final String MASTER_PLAYLIST = "master.m3u8";
+
+    private static final int SEGMENT_SECONDS = 4;
+    private static final int GOP_SECONDS = 2;
+
+    // 짧은 변 기준 화질 / 비디오 비트레이트(kbps)
+    private static final List<Rendition> LADDER = List.of(
+        new Rendition(360, 800),
+        new Rendition(540, 1400),
+        new Rendition(720, 2800),
+        new Rendition(1080, 5000)
+    );
+
+    private final FfmpegRunner ffmpegRunner;
+    private final EncodingCapacity encodingCapacity;
+
+    public void encode(Path input, Path outputDir, VideoFileService.VideoMetadata meta, DoubleConsumer onOutTime) throws Exception {
+        List<Rendition> renditions = selectRenditions(meta);
+        boolean landscape = meta.width() >= meta.height();
+        int n = renditions.size();
+
+        for (int i = 0; i < n; i++) {
+            Files.createDirectories(outputDir.resolve("v" + i));
+        }
+
+        // [0:v]split=N[s0][s1]...;[s0]scale=-2:360[v0];...
+        StringBuilder filter = new StringBuilder("[0:v]split=").append(n);
+        for (int i = 0; i < n; i++) filter.append("[s").append(i).append("]");
+        for (int i = 0; i < n; i++) {
+            int shortSide = renditions.get(i).shortSide();
+            String scale = landscape ? "-2:" + shortSide : shortSide + ":-2";
+            filter.append(";[s").append(i).append("]scale=").append(scale).append("[v").append(i).append("]");
+        }
+
+        List<String> command = new ArrayList<>(List.of(
+            "ffmpeg", "-y", "-i", input.toString(),
+            "-filter_complex", filter.toString()
+        ));
+
+        StringBuilder streamMap = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            int kbps = renditions.get(i).videoKbps();
+            command.addAll(List.of(
+                "-map", "[v" + i + "]",
+                "-c:v:" + i, "libx264",
+                "-b:v:" + i, kbps + "k",
+                "-maxrate:v:" + i, (kbps * 107 / 100) + "k",
+                "-bufsize:v:" + i, (kbps * 3 / 2) + "k"
+            ));
+            if (meta.hasAudio()) {
+                command.addAll(List.of("-map", "0:a:0"));
+            }
+            if (streamMap.length() > 0) streamMap.append(' ');
+            streamMap.append("v:").append(i);
+            if (meta.hasAudio()) streamMap.append(",a:").append(i);
+        }
+
+        command.addAll(List.of(
+            "-preset", "fast",
+            "-profile:v", "high",
+            "-pix_fmt", "yuv420p",
+            "-force_key_frames", "expr:gte(t,n_forced*" + GOP_SECONDS + ")",
+            "-sc_threshold", "0",
+            "-threads", String.valueOf(encodingCapacity.getThreadsPerJob())
+        ));
+        if (meta.hasAudio()) {
+            command.addAll(List.of("-c:a", "aac", "-b:a", "128k", "-ac", "2"));
+        }
+        command.addAll(List.of(
+            "-f", "hls",
+            "-hls_time", String.valueOf(SEGMENT_SECONDS),
+            "-hls_playlist_type", "vod",
+            "-hls_segment_type", "fmp4",
+            "-hls_flags", "independent_segments",
+            "-hls_fmp4_init_filename", "init.mp4",
+            "-hls_segment_filename", outputDir.resolve("v%v").resolve("seg_%03d.m4s").toString(),
+            "-master_pl_name", MASTER_PLAYLIST,
+            "-var_stream_map", streamMap.toString(),
+            outputDir.resolve("v%v").resolve("index.m3u8").toString()
+        ));
+
+        log.info("HLS 인코딩 시작: {}x{} -> {} 화질", meta.width(), meta.height(), n);
+        ffmpegRunner.run(command, 10, "HLS 인코딩", onOutTime);
+        log.info("HLS 인코딩 완료: {}", outputDir);
+    }
+
+    private List<Rendition> selectRenditions(VideoFileService.VideoMetadata meta) {
+        int sourceShortSide = Math.min(meta.width(), meta.height());
+        List<Rendition> selected = LADDER.stream()
+                .filter(r -> r.shortSide() <= sourceShortSide)
+                .toList();
+        // 360p 미만 원본도 최소 1개 화질은 생성
+        return selected.isEmpty() ? List.of(LADDER.get(0)) : selected;
+    }
+
+    private record Rendition(int shortSide, int videoKbps) {}
+}
@@ -0,0 +1,205 @@
+package kr.salm.file.service;
+
+import kr.salm.file.entity.StorageTier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+/**
+ * 로컬 디스크 저장소
+ * - HOT: file.upload-dir, COLD: file.storage.cold-dir (미지정 시 계층 이동 안 함)
+ * - 조회는 HOT → COLD 순
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private final Path hotRoot;
+    private final Path coldRoot;
+
+    public LocalBlobStore(@Value("${file.upload-dir}") String uploadDir,
+                          @Value("${file.storage.cold-dir:}") String coldDir) {
+        this.hotRoot = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.coldRoot = coldDir.isBlank() ? null : Paths.get(coldDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void put(String key, Path file) throws IOException {
+        Path target = resolve(hotRoot, key);
+        if (file.toAbsolutePath().normalize().equals(target)) return;
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling("." + target.getFileName() + ".tmp");
+        try {
+            Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+            move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void move(String key, Path file) throws IOException {
+        Path target = resolve(hotRoot, key);
+        if (file.toAbsolutePath().normalize().equals(target)) return;  // 작업 디렉토리 = 저장 위치
+        Files.createDirectories(target.getParent());
+        move(file, target);
+    }
+
+    @Override
+    public void put(String key, InputStream in, long length) throws IOException {
+        Path target = resolve(hotRoot, key);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling("." + target.getFileName() + ".tmp");
+        try {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Path get(String key, Path target) throws IOException {
+        Path source = localPath(key).orElseThrow(() -> new NoSuchFileException(key));
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        return Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public InputStream stream(String key, long offset, long length) throws IOException {
+        Path source = localPath(key).orElseThrow(() -> new NoSuchFileException(key));
+        FileChannel channel = FileChannel.open(source, StandardOpenOption.READ).position(offset);
+        return new FilterInputStream(Channels.newInputStream(channel)) {
+            private long remaining = length;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) return -1;
+                int b = super.read();
+                if (b >= 0) remaining--;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buf, int off, int len) throws IOException {
+                if (remaining <= 0) return -1;
+                int n = super.read(buf, off, (int) Math.min(len, remaining));
+                if (n > 0) remaining -= n;
+                return n;
+            }
+        };
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) throws IOException {
+        Optional<BlobInfo> hot = stat(resolve(hotRoot, key), StorageTier.HOT);
+        if (hot.isPresent() || coldRoot == null) return hot;
+        return stat(resolve(coldRoot, key), StorageTier.COLD);
+    }
+
+    private Optional<BlobInfo> stat(Path path, StorageTier tier) throws IOException {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) return Optional.empty();
+            return Optional.of(new BlobInfo(attrs.size(), attrs.lastModifiedTime().toMillis(), tier));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(hotRoot, key));
+        if (coldRoot != null) {
+            Files.deleteIfExists(resolve(coldRoot, key));
+        }
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        Set<String> keys = new TreeSet<>();
+        collect(hotRoot, prefix, keys);
+        if (coldRoot != null) collect(coldRoot, prefix, keys);
+        return new ArrayList<>(keys);
+    }
+
+    private void collect(Path root, String prefix, Set<String> keys) throws IOException {
+        Path start = resolve(root, prefix);
+        if (!Files.isDirectory(start)) {
+            if (Files.isRegularFile(start)) keys.add(prefix);
+            return;
+        }
+        try (var paths = Files.walk(start)) {
+            paths.filter(Files::isRegularFile)
+                 .forEach(p -> keys.add(root.relativize(p).toString().replace('\\', '/')));
+        }
+    }
+
+    @Override
+    public void deletePrefix(String prefix) throws IOException {
+        BlobStore.super.deletePrefix(prefix);
+        // 빈 디렉토리 정리
+        deleteEmptyDir(resolve(hotRoot, prefix));
+        if (coldRoot != null) deleteEmptyDir(resolve(coldRoot, prefix));
+    }
+
+    private void deleteEmptyDir(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        try (var paths = Files.walk(dir)) {
+            for (Path p : paths.sorted(Comparator.reverseOrder()).toList()) {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (DirectoryNotEmptyException ignored) {}
+            }
+        }
+    }
+
+    @Override
+    public void moveToTier(String key, StorageTier tier) throws IOException {
+        if (coldRoot == null) return;
+        Path from = resolve(tier == StorageTier.COLD ? hotRoot : coldRoot, key);
+        Path to = resolve(tier == StorageTier.COLD ? coldRoot : hotRoot, key);
+        if (!Files.exists(from)) return;
+        Files.createDirectories(to.getParent());
+        move(from, to);
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        Path hot = resolve(hotRoot, key);
+        if (Files.isRegularFile(hot)) return Optional.of(hot);
+        if (coldRoot != null) {
+            Path cold = resolve(coldRoot, key);
+            if (Files.isRegularFile(cold)) return Optional.of(cold);
+        }
+        return Optional.empty();
+    }
+
+    private Path resolve(Path root, String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("잘못된 저장소 키: " + key);
+        }
+        return path;
+    }
+
+    // 같은 파일시스템이면 rename, 아니면 복사 후 삭제
+    private void move(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
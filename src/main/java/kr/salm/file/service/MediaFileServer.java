@@ -0,0 +1,310 @@
+package kr.salm.file.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.salm.community.repository.VideoRepository;
+import kr.salm.file.entity.StorageTier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 업로드 파일 전송 (videos / thumbnails / clothes)
+ * - Range / 206 / 416, If-Range, If-None-Match / If-Modified-Since
+ * - 강한 ETag: 크기 + 수정 시각 (파일은 UUID 이름으로 한 번만 기록)
+ * - 1년 immutable 캐시
+ * - 본문: 로컬 파일은 Tomcat sendfile 지원 시 위임, 아니면 FileChannel.transferTo
+ *         원격 저장소(S3 등)는 요청 범위만 읽어 전달
+ * - accel-redirect 사용 시 접근 확인 후 Nginx internal location 으로 넘김 (HOT 로컬 파일)
+ * - 영상 파생 파일(videos / thumbnails)은 같은 fileKey 의 영상이 삭제되지 않고 READY 일 때만 전송
+ *   (HLS 세그먼트마다 조회하지 않도록 공개 확인 결과만 visibility-cache-millis 동안 보관, 삭제 커밋 시 제거)
+ */
+@Slf4j
+@Component
+public class MediaFileServer {
+
+    public static final Set<String> AREAS = Set.of("videos", "thumbnails", "clothes");
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final long CHUNK = 8L * 1024 * 1024;
+    private static final int MAX_VISIBILITY_ENTRIES = 10_000;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // MediaTypeFactory 에 없거나 다르게 잡히는 확장자
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+        "m3u8", "application/vnd.apple.mpegurl",
+        "m4s", "video/iso.segment",
+        "vtt", "text/vtt",
+        "webp", "image/webp"
+    );
+
+    private final BlobStore blobStore;
+    private final VideoRepository videoRepository;
+    private final boolean accelRedirect;
+    private final String accelPrefix;
+    private final long visibilityCacheMillis;
+
+    // 영상 경로 → 공개 확인 시각 (비공개 결과는 READY 전환 직후 바로 보이도록 보관하지 않음)
+    private final Map<String, Long> visibleSince = new ConcurrentHashMap<>();
+
+    /**
+     * 영상 삭제 시 발행 (커밋 후 캐시 제거)
+     */
+    public record VideoHidden(String videoPath) {}
+
+    public MediaFileServer(BlobStore blobStore, VideoRepository videoRepository,
+                           @Value("${file.media.accel-redirect.enabled:false}") boolean accelRedirect,
+                           @Value("${file.media.accel-redirect.prefix:/protected-media}") String accelPrefix,
+                           @Value("${file.media.visibility-cache-millis:30000}") long visibilityCacheMillis) {
+        this.blobStore = blobStore;
+        this.videoRepository = videoRepository;
+        this.accelRedirect = accelRedirect;
+        this.accelPrefix = accelPrefix.endsWith("/") ? accelPrefix.substring(0, accelPrefix.length() - 1) : accelPrefix;
+        this.visibilityCacheMillis = visibilityCacheMillis;
+    }
+
+    /**
+     * @param relative "videos/2024/01/01/x.mp4" 형태 (URL 디코딩 후)
+     */
+    public void serve(String relative, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!servable(relative) || !visible(relative)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Path file = blobStore.localPath(relative).orElse(null);
+        BlobStore.BlobInfo info = blobStore.stat(relative).orElse(null);
+        if (info == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = info.size();
+        long lastModified = info.lastModified() / 1000 * 1000;
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentTypeOf(relative));
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (accelRedirect && file != null && info.tier() == StorageTier.HOT) {
+            // Range/본문 전송은 Nginx 가 처리
+            response.setHeader("X-Accel-Redirect", accelPrefix + "/" + relative);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, etag, lastModified)) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (parsed.length == 2) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) return;
+
+        if (file == null) {
+            // 원격 저장소: 요청 범위만 읽어서 전달
+            try (InputStream in = blobStore.stream(relative, start, count)) {
+                in.transferTo(response.getOutputStream());
+            } catch (IOException e) {
+                log.debug("미디어 전송 중단: {} ({})", relative, e.getMessage());
+            }
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, Math.min(CHUNK, remaining), out);
+                if (sent <= 0) break;
+                position += sent;
+                remaining -= sent;
+            }
+        } catch (IOException e) {
+            // 재생 중 탐색/이탈로 연결이 끊기는 경우가 대부분
+            log.debug("미디어 전송 중단: {} ({})", relative, e.getMessage());
+        }
+    }
+
+    /**
+     * 전송 영역 밖, 상위 경로(..), 숨김 파일, 인코딩 전 원본(_temp.)은 제외
+     */
+    private boolean servable(String relative) {
+        int slash = relative.indexOf('/');
+        if (slash <= 0 || !AREAS.contains(relative.substring(0, slash))) return false;
+        if (relative.contains("\\") || relative.contains("//") || relative.endsWith("/")) return false;
+
+        for (String segment : relative.split("/")) {
+            if (segment.startsWith(".")) return false;
+        }
+        return !relative.substring(relative.lastIndexOf('/') + 1).contains("_temp.");
+    }
+
+    /**
+     * 영상 파생 파일이면 소유 영상이 공개 상태인지 (삭제/처리 중/실패 영상은 숨김)
+     */
+    private boolean visible(String relative) {
+        String videoPath = owningVideoPath(relative);
+        if (videoPath == null) return true;
+
+        long now = System.currentTimeMillis();
+        Long checkedAt = visibleSince.get(videoPath);
+        if (checkedAt != null && now - checkedAt < visibilityCacheMillis) return true;
+
+        if (!videoRepository.existsServableByVideoPath(videoPath)) {
+            visibleSince.remove(videoPath);
+            return false;
+        }
+        if (visibleSince.size() >= MAX_VISIBILITY_ENTRIES) visibleSince.clear();
+        visibleSince.put(videoPath, now);
+        return true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVideoHidden(VideoHidden event) {
+        visibleSince.remove(event.videoPath());
+    }
+
+    /**
+     * 파생 파일 → 영상 경로 (MediaGarbageCollector 와 같은 fileKey 규칙)
+     *   videos/2024/01/01/{key}.mp4, {key}_preview.mp4, {key}_hls/...
+     *   thumbnails/2024/01/01/{key}_thumb.jpg, {key}_sprite.jpg, {key}_sprite.vtt
+     * @return 영상 파생 파일이 아니면 null (clothes 등)
+     */
+    static String owningVideoPath(String relative) {
+        String[] parts = relative.split("/");
+        if (!"videos".equals(parts[0]) && !"thumbnails".equals(parts[0])) return null;
+        if (parts.length < 5) return null;
+
+        String name = parts[4];
+        int end = name.length();
+        int underscore = name.indexOf('_');
+        int dot = name.indexOf('.');
+        if (underscore > 0) end = Math.min(end, underscore);
+        if (dot > 0) end = Math.min(end, dot);
+        return "/videos/" + parts[1] + "/" + parts[2] + "/" + parts[3] + "/" + name.substring(0, end) + ".mp4";
+    }
+
+    private boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            if ("*".equals(ifNoneMatch.trim())) return true;
+            for (String tag : ifNoneMatch.split(",")) {
+                String t = tag.trim();
+                if (t.startsWith("W/")) t = t.substring(2);
+                if (t.equals(etag)) return true;
+            }
+            return false;
+        }
+        long since = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return since >= 0 && lastModified <= since;
+    }
+
+    // If-Range: 강한 ETag 일치 또는 날짜 일치 시에만 Range 적용
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"")) return ifRange.equals(etag);
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && date == lastModified;
+    }
+
+    private long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 단일 범위만 206 처리 (여러 범위는 전체 200)
+     * - 문법상 잘못된 범위(bytes=20-10 등)는 RFC 7233 에 따라 무시, 시작이 파일 끝 이후면 416
+     * @return null: 416, 빈 배열: 범위 무시, [start, end]
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=")) return new long[0];
+        String spec = header.substring(6).trim();
+        if (spec.contains(",")) return new long[0];
+
+        int dash = spec.indexOf('-');
+        if (dash < 0) return new long[0];
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // bytes=-N (마지막 N 바이트)
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) return null;
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                if (!last.isEmpty() && Long.parseLong(last) < start) return new long[0];
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            }
+            if (start >= length) return null;
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    public static String contentTypeOf(String name) {
+        String ext = name.contains(".") ? name.substring(name.lastIndexOf('.') + 1).toLowerCase() : "";
+        String type = CONTENT_TYPES.get(ext);
+        if (type != null) return type;
+        return MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+}
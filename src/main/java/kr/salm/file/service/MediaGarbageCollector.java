@@ -0,0 +1,231 @@
+package kr.salm.file.service;
+
+import kr.salm.closet.repository.ClothRepository;
+import kr.salm.community.entity.VideoStatus;
+import kr.salm.community.repository.VideoRepository;
+import kr.salm.file.repository.VideoBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 고아 미디어 파일 정리
+ * - videos/, thumbnails/, clothes/ 날짜 디렉토리를 실행마다 며칠씩 순회 (끝나면 처음부터 다시)
+ * - 유예 시간 동안 갱신 없는 분할 업로드(incoming/)도 함께 정리
+ * - 파일명(fileKey)으로 묶어 DB 에 일괄 조회, 사용 중이 아니면 유예 시간 후 삭제
+ *   · 영상: 삭제/실패 영상의 결과물, 처리 중이 아닌 영상의 *_temp.* 원본
+ *   · 옷: 비활성이고 코디에도 없는 이미지
+ * - dry-run 이면 삭제 없이 대상/용량만 집계
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaGarbageCollector {
+
+    private static final DateTimeFormatter DATE_PATH = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+    private static final int LOOKUP_BATCH = 500;
+
+    private final BlobStore blobStore;
+    private final VideoRepository videoRepository;
+    private final ClothRepository clothRepository;
+    private final VideoBlobRepository blobRepository;
+    private final ChunkedUploadService chunkedUploadService;
+
+    @Value("${file.gc.enabled:false}")
+    private boolean enabled;
+
+    @Value("${file.gc.dry-run:true}")
+    private boolean dryRun;
+
+    @Value("${file.gc.grace-hours:24}")
+    private int graceHours;
+
+    @Value("${file.gc.days-per-run:3}")
+    private int daysPerRun;
+
+    @Value("${file.gc.max-deletes-per-run:500}")
+    private int maxDeletesPerRun;
+
+    // 배치 사이 대기 (디스크/DB 부하 제한)
+    @Value("${file.gc.pause-millis:200}")
+    private long pauseMillis;
+
+    @Value("${file.gc.start-date:2024-01-01}")
+    private String startDate;
+
+    private LocalDate cursor;
+
+    private final AtomicLong scannedFiles = new AtomicLong();
+    private final AtomicLong reclaimedFiles = new AtomicLong();
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+
+    public record GcStats(long scannedFiles, long reclaimedFiles, long reclaimedBytes, boolean dryRun, LocalDate cursor) {}
+
+    public GcStats stats() {
+        return new GcStats(scannedFiles.get(), reclaimedFiles.get(), reclaimedBytes.get(), dryRun, cursor);
+    }
+
+    @Scheduled(fixedDelayString = "${file.gc.interval-millis:300000}", initialDelayString = "${file.gc.initial-delay-millis:120000}")
+    public synchronized void run() {
+        if (!enabled) return;
+
+        LocalDate today = LocalDate.now();
+        if (cursor == null || cursor.isAfter(today)) {
+            cursor = LocalDate.parse(startDate);
+        }
+
+        RunResult result = new RunResult();
+        try {
+            // 중단된 분할 업로드 (incoming/)
+            result.bytes += chunkedUploadService.purgeStale(graceHours * 3_600_000L, dryRun);
+
+            for (int i = 0; i < daysPerRun; i++) {
+                sweepDay(cursor, result);
+                // 삭제 한도에 걸리면 같은 날짜부터 다시
+                if (limitReached(result)) break;
+                cursor = cursor.plusDays(1);
+                if (cursor.isAfter(today)) {
+                    cursor = LocalDate.parse(startDate);
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("미디어 정리 실패: {}", e.getMessage());
+        }
+
+        scannedFiles.addAndGet(result.scanned);
+        reclaimedFiles.addAndGet(result.files);
+        reclaimedBytes.addAndGet(result.bytes);
+        if (result.files > 0) {
+            log.info("미디어 정리{}: {} 개 / {} bytes (누적 {} bytes), 다음 위치 {}",
+                    dryRun ? " (dry-run)" : "", result.files, result.bytes, reclaimedBytes.get(), cursor);
+        }
+    }
+
+    private void sweepDay(LocalDate date, RunResult result) throws IOException, InterruptedException {
+        String datePath = date.format(DATE_PATH);
+
+        // 영상/썸네일: "/videos/{date}/{fileKey}.mp4" 기준으로 묶음
+        Map<String, List<String>> byVideoPath = new HashMap<>();
+        for (String area : List.of("videos", "thumbnails")) {
+            for (String key : blobStore.list(area + "/" + datePath + "/")) {
+                String fileKey = fileKeyOf(key);
+                if (fileKey == null) continue;
+                byVideoPath.computeIfAbsent("/videos/" + datePath + "/" + fileKey + ".mp4", k -> new ArrayList<>()).add(key);
+                result.scanned++;
+            }
+        }
+
+        for (List<String> batch : batches(new ArrayList<>(byVideoPath.keySet()))) {
+            Map<String, VideoStatus> live = liveStatuses(batch);
+            Set<String> gone = new HashSet<>();
+            for (String videoPath : batch) {
+                VideoStatus status = live.get(videoPath);
+                if (status == null || status == VideoStatus.FAILED) gone.add(videoPath);
+            }
+            if (!dryRun && !gone.isEmpty()) {
+                // 파일보다 blob 행을 먼저 삭제: 이후 중복 업로드는 참조 증가가 0 이 되어 새로 인코딩
+                // 삭제 직전에 참조된 blob 은 남고, 그 영상은 아래 재확인에서 살아있는 것으로 보임
+                blobRepository.deleteUnreferenced(gone);
+                Map<String, VideoStatus> revived = liveStatuses(new ArrayList<>(gone));
+                live.putAll(revived);
+                gone.removeIf(videoPath -> revived.get(videoPath) != null && revived.get(videoPath) != VideoStatus.FAILED);
+            }
+            for (String videoPath : batch) {
+                VideoStatus status = live.get(videoPath);
+                boolean ownerGone = gone.contains(videoPath);
+                for (String key : byVideoPath.get(videoPath)) {
+                    boolean orphan = ownerGone || (key.contains("_temp.") && !status.isProcessing());
+                    if (orphan) reclaim(key, result);
+                    if (limitReached(result)) return;
+                }
+            }
+            Thread.sleep(pauseMillis);
+        }
+
+        // 옷 이미지
+        List<String> clothKeys = blobStore.list("clothes/" + datePath + "/");
+        result.scanned += clothKeys.size();
+        for (List<String> batch : batches(clothKeys.stream().map(k -> "/" + k).toList())) {
+            Set<String> live = new HashSet<>(clothRepository.findLiveImagePaths(batch));
+            for (String imagePath : batch) {
+                if (!live.contains(imagePath)) {
+                    reclaim(BlobStore.keyOf(imagePath), result);
+                    if (limitReached(result)) return;
+                }
+            }
+            Thread.sleep(pauseMillis);
+        }
+    }
+
+    // 같은 경로를 여러 영상이 공유하면 가장 살아있는 상태 기준
+    private Map<String, VideoStatus> liveStatuses(List<String> videoPaths) {
+        Map<String, VideoStatus> live = new HashMap<>();
+        for (Object[] row : videoRepository.findLiveVideoPaths(videoPaths)) {
+            live.merge((String) row[0], (VideoStatus) row[1], (a, b) -> a == VideoStatus.FAILED ? b : a);
+        }
+        return live;
+    }
+
+    /**
+     * 유예 시간이 지난 파일만 삭제
+     * @return 삭제(또는 dry-run 집계)했으면 true
+     */
+    private boolean reclaim(String key, RunResult result) throws IOException {
+        Optional<BlobStore.BlobInfo> info = blobStore.stat(key);
+        if (info.isEmpty()) return true;
+        long ageMillis = System.currentTimeMillis() - info.get().lastModified();
+        if (ageMillis < graceHours * 3_600_000L) return false;
+
+        if (dryRun) {
+            log.debug("정리 대상 (dry-run): {}", key);
+        } else {
+            blobStore.delete(key);
+        }
+        result.files++;
+        result.bytes += info.get().size();
+        return true;
+    }
+
+    // dry-run 은 삭제하지 않으므로 한도 없음 (같은 날짜에 멈추지 않도록)
+    private boolean limitReached(RunResult result) {
+        return !dryRun && result.files >= maxDeletesPerRun;
+    }
+
+    // "videos/2024/01/01/{fileKey}_hls/v0/seg_000.m4s" → fileKey
+    private String fileKeyOf(String key) {
+        String[] parts = key.split("/");
+        if (parts.length < 5) return null;
+        String name = parts[4];
+        int end = name.length();
+        int underscore = name.indexOf('_');
+        int dot = name.indexOf('.');
+        if (underscore > 0) end = Math.min(end, underscore);
+        if (dot > 0) end = Math.min(end, dot);
+        return name.substring(0, end);
+    }
+
+    private List<List<String>> batches(List<String> items) {
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += LOOKUP_BATCH) {
+            batches.add(items.subList(i, Math.min(items.size(), i + LOOKUP_BATCH)));
+        }
+        return batches;
+    }
+
+    private static class RunResult {
+        long scanned;
+        long files;
+        long bytes;
+    }
+}
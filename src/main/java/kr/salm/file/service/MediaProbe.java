@@ -0,0 +1,109 @@
+package kr.salm.file.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ffprobe JSON 출력 파싱
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaProbe {
+
+    private final ObjectMapper objectMapper;
+
+    public ProbeResult probe(Path filePath) throws Exception {
+        ProcessBuilder pb = new ProcessBuilder(
+            "ffprobe", "-v", "quiet", "-print_format", "json",
+            "-show_format", "-show_streams", filePath.toString()
+        );
+        // 출력은 임시 파일로 (파이프를 EOF 까지 읽으면 멈춘 ffprobe 에 타임아웃이 걸리지 않음)
+        Path output = Files.createTempFile("ffprobe-", ".json");
+        try {
+            pb.redirectOutput(output.toFile());
+            pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+            Process process = pb.start();
+
+            boolean finished;
+            try {
+                finished = process.waitFor(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                throw e;
+            }
+            if (!finished) {
+                process.destroyForcibly();
+                throw new RuntimeException("ffprobe 타임아웃");
+            }
+            if (process.exitValue() != 0) {
+                throw new RuntimeException("ffprobe 실패: exit code " + process.exitValue());
+            }
+            return parse(objectMapper.readTree(output.toFile()), Files.size(filePath));
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    ProbeResult parse(JsonNode root, long fileSize) {
+        JsonNode format = root.path("format");
+        JsonNode video = firstStream(root, "video");
+        JsonNode audio = firstStream(root, "audio");
+
+        double duration = format.path("duration").asDouble(0);
+        if (duration == 0 && video != null) {
+            duration = video.path("duration").asDouble(0);
+        }
+
+        return new ProbeResult(
+                format.path("format_name").asText(""),
+                duration,
+                format.path("bit_rate").asLong(0),
+                fileSize,
+                video != null ? video.path("codec_name").asText(null) : null,
+                video != null ? video.path("profile").asText(null) : null,
+                video != null ? video.path("level").asInt(0) : 0,
+                video != null ? video.path("width").asInt(0) : 0,
+                video != null ? video.path("height").asInt(0) : 0,
+                video != null ? video.path("pix_fmt").asText(null) : null,
+                video != null ? video.path("bit_rate").asLong(0) : 0,
+                video != null ? rotation(video) : 0,
+                audio != null ? audio.path("codec_name").asText(null) : null,
+                audio != null ? audio.path("channels").asInt(0) : 0,
+                video != null ? video.path("duration").asDouble(0) : 0,
+                audio != null ? audio.path("duration").asDouble(0) : 0
+        );
+    }
+
+    private JsonNode firstStream(JsonNode root, String codecType) {
+        for (JsonNode stream : root.path("streams")) {
+            if (codecType.equals(stream.path("codec_type").asText())) {
+                // 커버 이미지(attached_pic)는 비디오 스트림에서 제외
+                if (stream.path("disposition").path("attached_pic").asInt(0) == 1) continue;
+                return stream;
+            }
+        }
+        return null;
+    }
+
+    // 구버전: tags.rotate, 신버전: side_data_list[].rotation
+    private int rotation(JsonNode video) {
+        JsonNode rotate = video.path("tags").path("rotate");
+        if (!rotate.isMissingNode()) {
+            return rotate.asInt(0);
+        }
+        for (JsonNode sideData : video.path("side_data_list")) {
+            if (sideData.has("rotation")) {
+                return sideData.path("rotation").asInt(0);
+            }
+        }
+        return 0;
+    }
+}
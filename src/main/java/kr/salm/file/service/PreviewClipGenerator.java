@@ -0,0 +1,132 @@
+package kr.salm.file.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * 피드 미리보기 클립 (무음, 저해상도 MP4)
+ * - 움직임이 가장 많은 구간 선택: 축소 프레임의 장면 변화 점수를 초 단위로 합산
+ * - 점수는 별도 디코딩 없이 인코딩 ffmpeg 의 split 분기에서 파일로 출력 (sceneFilter / sceneOutputArgs)
+ * - 클립은 인코딩 결과에서 해당 구간만 seek 후 짧게 인코딩
+ * - 점수 파일이 없거나 짧은 영상은 처음부터 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PreviewClipGenerator {
+
+    static final int CLIP_SECONDS = 3;
+
+    private static final int SHORT_SIDE = 240;
+    private static final int FPS = 15;
+    // 분석용 샘플링 (초당 프레임 / 가로 크기)
+    private static final int ANALYZE_FPS = 4;
+    private static final int ANALYZE_WIDTH = 64;
+
+    private final FfmpegRunner ffmpegRunner;
+
+    /**
+     * split 분기에 붙일 장면 변화 점수 필터 (프레임마다 점수를 scores 파일에 기록)
+     */
+    public String sceneFilter(Path scores) {
+        return "fps=" + ANALYZE_FPS + ",scale=" + ANALYZE_WIDTH + ":-2,select='gte(scene,0)',"
+                + "metadata=print:key=lavfi.scene_score:file='" + scores + "'";
+    }
+
+    /**
+     * filter_complex 의 [label] 을 버리는 출력 인자 (점수 파일만 필요)
+     */
+    public List<String> sceneOutputArgs(String label) {
+        return List.of("-map", "[" + label + "]", "-f", "null", "-");
+    }
+
+    /**
+     * 미리보기 출력 옆 점수 파일 경로
+     */
+    public Path scoresPath(Path output) {
+        return output.resolveSibling(output.getFileName() + ".scores");
+    }
+
+    /**
+     * @param input 인코딩 완료된 MP4 (해당 구간만 디코딩)
+     */
+    public void generate(Path input, Path output, VideoFileService.VideoMetadata meta) throws Exception {
+        Path scores = scoresPath(output);
+        double start;
+        try {
+            start = meta.duration() > CLIP_SECONDS + 1 && Files.exists(scores)
+                    ? mostActiveStart(Files.readAllLines(scores), meta.duration())
+                    : 0;
+        } finally {
+            Files.deleteIfExists(scores);
+        }
+        String scale = meta.width() >= meta.height() ? "-2:" + SHORT_SIDE : SHORT_SIDE + ":-2";
+
+        List<String> command = List.of(
+            "ffmpeg", "-y",
+            "-ss", String.format(Locale.ROOT, "%.3f", start),
+            "-t", String.valueOf(CLIP_SECONDS),
+            "-i", input.toString(),
+            "-an", "-sn",
+            "-vf", "fps=" + FPS + ",scale=" + scale,
+            "-c:v", "libx264",
+            "-preset", "veryfast",
+            "-crf", "30",
+            "-profile:v", "main",
+            "-pix_fmt", "yuv420p",
+            "-movflags", "+faststart",
+            output.toString()
+        );
+
+        ffmpegRunner.run(command, 1, "미리보기 생성");
+        log.info("미리보기 생성 완료: {} ({}초부터)", output, start);
+    }
+
+    /**
+     * 장면 변화 점수 합이 가장 큰 CLIP_SECONDS 구간의 시작 시각
+     */
+    static int mostActiveStart(List<String> scoreLines, int duration) {
+        double[] perSecond = parseScores(scoreLines, duration);
+        double window = 0;
+        for (int i = 0; i < CLIP_SECONDS; i++) window += perSecond[i];
+
+        double best = window;
+        int bestStart = 0;
+        for (int s = 1; s + CLIP_SECONDS <= duration; s++) {
+            window += perSecond[s + CLIP_SECONDS - 1] - perSecond[s - 1];
+            if (window > best) {
+                best = window;
+                bestStart = s;
+            }
+        }
+        return bestStart;
+    }
+
+    /**
+     * metadata=print 출력
+     *   frame:0    pts:0       pts_time:0
+     *   lavfi.scene_score=0.000000
+     */
+    static double[] parseScores(List<String> lines, int duration) {
+        double[] perSecond = new double[Math.max(duration, CLIP_SECONDS) + 1];
+        int second = 0;
+        for (String line : lines) {
+            int idx = line.indexOf("pts_time:");
+            if (idx >= 0) {
+                try {
+                    second = (int) Double.parseDouble(line.substring(idx + 9).trim());
+                } catch (NumberFormatException ignored) {}
+            } else if (line.startsWith("lavfi.scene_score=")) {
+                try {
+                    double score = Double.parseDouble(line.substring(18).trim());
+                    if (second >= 0 && second < perSecond.length) perSecond[second] += score;
+                } catch (NumberFormatException ignored) {}
+            }
+        }
+        return perSecond;
+    }
+}
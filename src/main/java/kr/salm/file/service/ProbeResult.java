@@ -0,0 +1,49 @@
+package kr.salm.file.service;
+
+/**
+ * ffprobe 분석 결과 (첫 번째 비디오/오디오 스트림 기준)
+ */
+public record ProbeResult(
+        String formatName,
+        double duration,
+        long bitRate,
+        long fileSize,
+        String videoCodec,
+        String videoProfile,
+        int videoLevel,
+        int width,
+        int height,
+        String pixelFormat,
+        long videoBitRate,
+        int rotation,
+        String audioCodec,
+        int audioChannels,
+        double videoDuration,
+        double audioDuration
+) {
+
+    public boolean hasVideo() {
+        return videoCodec != null;
+    }
+
+    public boolean hasAudio() {
+        return audioCodec != null;
+    }
+
+    // 회전 메타데이터(세로 촬영)를 반영한 표시 해상도
+    public int displayWidth() {
+        return isRotatedQuarter() ? height : width;
+    }
+
+    public int displayHeight() {
+        return isRotatedQuarter() ? width : height;
+    }
+
+    private boolean isRotatedQuarter() {
+        return Math.abs(rotation) % 180 == 90;
+    }
+
+    public VideoFileService.VideoMetadata toMetadata() {
+        return new VideoFileService.VideoMetadata(displayWidth(), displayHeight(), (int) duration, fileSize, hasAudio());
+    }
+}
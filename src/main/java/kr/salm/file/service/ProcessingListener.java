@@ -0,0 +1,14 @@
+package kr.salm.file.service;
+
+/**
+ * 영상 처리 단계/진행률 알림
+ */
+public interface ProcessingListener {
+
+    ProcessingListener NONE = new ProcessingListener() {};
+
+    default void onEncodingStart() {}
+
+    // 0.0 ~ 1.0
+    default void onProgress(double fraction) {}
+}
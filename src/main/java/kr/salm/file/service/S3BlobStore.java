@@ -0,0 +1,232 @@
+package kr.salm.file.service;
+
+import kr.salm.file.entity.StorageTier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * S3 호환 저장소 (AWS S3, MinIO 등)
+ * - path-style 주소 ({endpoint}/{bucket}/{key}), SigV4 헤더 서명 (SigV4Signer), 본문은 UNSIGNED-PAYLOAD
+ * - COLD 계층은 같은 키를 저가 storage class 로 복사 (읽기 경로 변경 없음)
+ * - 로컬 MinIO: endpoint=http://localhost:9000, region=us-east-1
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final Pattern KEY = Pattern.compile("<Key>(.*?)</Key>");
+    private static final Pattern NEXT_TOKEN = Pattern.compile("<NextContinuationToken>(.*?)</NextContinuationToken>");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final URI endpoint;
+    private final String bucket;
+    private final String coldStorageClass;
+    private final SigV4Signer signer;
+
+    // ListObjectsV2 페이지 크기 (S3 최대 1000)
+    int listPageSize = 1000;
+
+    public S3BlobStore(@Value("${file.storage.s3.endpoint}") String endpoint,
+                       @Value("${file.storage.s3.region:us-east-1}") String region,
+                       @Value("${file.storage.s3.bucket}") String bucket,
+                       @Value("${file.storage.s3.access-key}") String accessKey,
+                       @Value("${file.storage.s3.secret-key}") String secretKey,
+                       @Value("${file.storage.s3.cold-storage-class:STANDARD_IA}") String coldStorageClass) {
+        this.endpoint = URI.create(endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint);
+        this.bucket = bucket;
+        this.coldStorageClass = coldStorageClass;
+        this.signer = new SigV4Signer(accessKey, secretKey, region, "s3");
+    }
+
+    @Override
+    public void put(String key, Path file) throws IOException {
+        HttpRequest.Builder builder = request("PUT", key, Map.of(), Map.of())
+                .header("Content-Type", MediaFileServer.contentTypeOf(key))
+                .PUT(HttpRequest.BodyPublishers.ofFile(file));
+        expect(send(builder, HttpResponse.BodyHandlers.ofString()), "PUT " + key, 200);
+    }
+
+    @Override
+    public void put(String key, InputStream in, long length) throws IOException {
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> in), length);
+        HttpRequest.Builder builder = request("PUT", key, Map.of(), Map.of())
+                .header("Content-Type", MediaFileServer.contentTypeOf(key))
+                .PUT(body);
+        expect(send(builder, HttpResponse.BodyHandlers.ofString()), "PUT " + key, 200);
+    }
+
+    @Override
+    public Path get(String key, Path target) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        HttpResponse<Path> response = send(request("GET", key, Map.of(), Map.of()).GET(),
+                HttpResponse.BodyHandlers.ofFile(target));
+        if (response.statusCode() == 404) {
+            Files.deleteIfExists(target);
+            throw new NoSuchFileException(key);
+        }
+        if (response.statusCode() != 200) {
+            Files.deleteIfExists(target);
+            throw new IOException("S3 GET " + key + " 실패: " + response.statusCode());
+        }
+        return target;
+    }
+
+    @Override
+    public InputStream stream(String key, long offset, long length) throws IOException {
+        HttpRequest.Builder builder = request("GET", key, Map.of(), Map.of())
+                .header("Range", "bytes=" + offset + "-" + (offset + length - 1))
+                .GET();
+        HttpResponse<InputStream> response = send(builder, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200 && response.statusCode() != 206) {
+            response.body().close();
+            if (response.statusCode() == 404) throw new NoSuchFileException(key);
+            throw new IOException("S3 GET " + key + " 실패: " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) throws IOException {
+        HttpResponse<Void> response = send(request("HEAD", key, Map.of(), Map.of())
+                .method("HEAD", HttpRequest.BodyPublishers.noBody()), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) return Optional.empty();
+        if (response.statusCode() != 200) {
+            throw new IOException("S3 HEAD " + key + " 실패: " + response.statusCode());
+        }
+
+        long size = response.headers().firstValueAsLong("Content-Length").orElse(0);
+        long lastModified = response.headers().firstValue("Last-Modified")
+                .map(v -> ZonedDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli())
+                .orElse(0L);
+        StorageTier tier = response.headers().firstValue("x-amz-storage-class")
+                .filter(c -> !"STANDARD".equals(c))
+                .map(c -> StorageTier.COLD)
+                .orElse(StorageTier.HOT);
+        return Optional.of(new BlobInfo(size, lastModified, tier));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpResponse<String> response = send(request("DELETE", key, Map.of(), Map.of()).DELETE(),
+                HttpResponse.BodyHandlers.ofString());
+        expect(response, "DELETE " + key, 204, 200, 404);
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        List<String> keys = new ArrayList<>();
+        String token = null;
+        do {
+            Map<String, String> query = new TreeMap<>();
+            query.put("list-type", "2");
+            query.put("max-keys", String.valueOf(listPageSize));
+            query.put("prefix", prefix);
+            if (token != null) query.put("continuation-token", token);
+
+            HttpResponse<String> response = send(request("GET", "", query, Map.of()).GET(),
+                    HttpResponse.BodyHandlers.ofString());
+            expect(response, "LIST " + prefix, 200);
+
+            Matcher m = KEY.matcher(response.body());
+            while (m.find()) keys.add(unescapeXml(m.group(1)));
+            Matcher next = NEXT_TOKEN.matcher(response.body());
+            token = next.find() ? unescapeXml(next.group(1)) : null;
+        } while (token != null);
+        return keys;
+    }
+
+    /**
+     * 같은 키로 복사하면서 storage class 만 변경
+     */
+    @Override
+    public void moveToTier(String key, StorageTier tier) throws IOException {
+        Map<String, String> amzHeaders = new TreeMap<>();
+        amzHeaders.put("x-amz-copy-source", "/" + bucket + "/" + SigV4Signer.encodePath(key));
+        amzHeaders.put("x-amz-metadata-directive", "COPY");
+        amzHeaders.put("x-amz-storage-class", tier == StorageTier.COLD ? coldStorageClass : "STANDARD");
+
+        HttpRequest.Builder builder = request("PUT", key, Map.of(), amzHeaders)
+                .PUT(HttpRequest.BodyPublishers.noBody());
+        expect(send(builder, HttpResponse.BodyHandlers.ofString()), "COPY " + key, 200);
+    }
+
+    /**
+     * 버킷 생성 (통합 테스트 / 로컬 MinIO 초기화용)
+     */
+    void createBucket() throws IOException {
+        HttpRequest.Builder builder = request("PUT", "", Map.of(), Map.of())
+                .PUT(HttpRequest.BodyPublishers.noBody());
+        expect(send(builder, HttpResponse.BodyHandlers.ofString()), "CREATE BUCKET " + bucket, 200);
+    }
+
+    // ===== SigV4 =====
+
+    private HttpRequest.Builder request(String method, String key, Map<String, String> query,
+                                        Map<String, String> amzHeaders) throws IOException {
+        String path = endpoint.getRawPath() + "/" + bucket + (key.isEmpty() ? "/" : "/" + SigV4Signer.encodePath(key));
+        String canonicalQuery = SigV4Signer.canonicalQuery(query);
+        URI uri = URI.create(endpoint.getScheme() + "://" + endpoint.getRawAuthority() + path
+                + (canonicalQuery.isEmpty() ? "" : "?" + canonicalQuery));
+
+        TreeMap<String, String> headers = new TreeMap<>(amzHeaders);
+        headers.put("host", endpoint.getRawAuthority());
+        headers.put("x-amz-content-sha256", UNSIGNED_PAYLOAD);
+        headers.put("x-amz-date", ZonedDateTime.now(ZoneOffset.UTC).format(AMZ_DATE));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(5));
+        headers.forEach((k, v) -> {
+            if (!"host".equals(k)) builder.header(k, v);  // host 는 HttpClient 가 설정
+        });
+        builder.header("Authorization", signer.authorization(method, path, canonicalQuery, headers, UNSIGNED_PAYLOAD));
+        return builder;
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest.Builder builder, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(builder.build(), handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 요청 중단", e);
+        }
+    }
+
+    private void expect(HttpResponse<String> response, String action, int... statuses) throws IOException {
+        for (int status : statuses) {
+            if (response.statusCode() == status) return;
+        }
+        String body = response.body() == null ? "" : response.body();
+        throw new IOException("S3 " + action + " 실패: " + response.statusCode() + " "
+                + body.substring(0, Math.min(200, body.length())));
+    }
+
+    private static String unescapeXml(String s) {
+        return s.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+}
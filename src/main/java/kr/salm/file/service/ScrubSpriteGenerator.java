@@ -0,0 +1,94 @@
+package kr.salm.file.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * 탐색 미리보기 스프라이트 + WebVTT 썸네일 트랙
+ * - 일정 간격 프레임을 한 장의 JPEG 타일로 합침 (탐색 시 이미지 1회 요청)
+ * - VTT 큐는 스프라이트 상대 경로 + #xywh 좌표
+ * - 타일 수가 MAX_TILES 를 넘지 않도록 간격 조정 (기본 1초)
+ * - 별도 디코딩 없이 인코딩 ffmpeg 의 split 분기로 출력 (filter / outputArgs)
+ *   한 번에 디코딩하는 패스가 없는 경우(리먹싱, 구간 병렬)는 키프레임만 디코딩
+ */
+@Slf4j
+@Component
+public class ScrubSpriteGenerator {
+
+    private static final int TILE_WIDTH = 160;
+    private static final int COLUMNS = 10;
+    private static final int MAX_TILES = 100;
+
+    private record Layout(int interval, int columns, int rows, int tileHeight) {}
+
+    /**
+     * split 분기에 붙일 필터 (입력은 인코딩 해상도 프레임)
+     * @param meta 출력 메타데이터 (해상도 / 길이)
+     */
+    public String filter(VideoFileService.VideoMetadata meta) {
+        Layout layout = layout(meta);
+        return "fps=1/" + layout.interval() + ",scale=" + TILE_WIDTH + ":" + layout.tileHeight()
+                + ",tile=" + layout.columns() + "x" + layout.rows();
+    }
+
+    /**
+     * filter_complex 의 [label] 을 스프라이트 JPEG 로 출력하는 인자
+     */
+    public List<String> outputArgs(String label, Path spritePath) {
+        return List.of("-map", "[" + label + "]", "-frames:v", "1", "-q:v", "5", spritePath.toString());
+    }
+
+    /**
+     * 키프레임만 디코딩하는 입력 (리먹싱/구간 병렬처럼 전체 디코딩이 없는 패스에 사용)
+     */
+    public List<String> keyframeInputArgs(Path input) {
+        return List.of("-skip_frame", "nokey", "-i", input.toString());
+    }
+
+    /**
+     * 스프라이트가 만들어졌으면 VTT 작성
+     * @return 스프라이트와 VTT 가 모두 있으면 true
+     */
+    public boolean writeVtt(Path spritePath, Path vttPath, VideoFileService.VideoMetadata meta) throws IOException {
+        if (!Files.exists(spritePath) || Files.size(spritePath) == 0) return false;
+        Layout layout = layout(meta);
+        Files.writeString(vttPath, buildVtt(spritePath.getFileName().toString(), meta.duration(), layout.interval(),
+                layout.columns(), layout.tileHeight()), StandardCharsets.UTF_8);
+        log.info("스프라이트 생성 완료: {} ({}x{} 타일, {}초 간격)", spritePath, layout.columns(), layout.rows(), layout.interval());
+        return true;
+    }
+
+    private Layout layout(VideoFileService.VideoMetadata meta) {
+        int interval = Math.max(1, (int) Math.ceil(meta.duration() / (double) MAX_TILES));
+        int tiles = Math.max(1, (int) Math.ceil(meta.duration() / (double) interval));
+        int columns = Math.min(COLUMNS, tiles);
+        int rows = (tiles + columns - 1) / columns;
+
+        int tileHeight = meta.width() > 0
+                ? Math.max(2, (int) Math.round((double) meta.height() * TILE_WIDTH / meta.width()) / 2 * 2)
+                : TILE_WIDTH * 9 / 16;
+        return new Layout(interval, columns, rows, tileHeight);
+    }
+
+    private String buildVtt(String spriteName, int duration, int interval, int columns, int tileHeight) {
+        StringBuilder vtt = new StringBuilder("WEBVTT\n\n");
+        int end = Math.max(1, duration);
+        for (int i = 0, start = 0; start < end; i++, start += interval) {
+            int x = (i % columns) * TILE_WIDTH;
+            int y = (i / columns) * tileHeight;
+            vtt.append(timestamp(start)).append(" --> ").append(timestamp(Math.min(end, start + interval))).append('\n')
+               .append(spriteName).append("#xywh=").append(x).append(',').append(y).append(',')
+               .append(TILE_WIDTH).append(',').append(tileHeight).append("\n\n");
+        }
+        return vtt.toString();
+    }
+
+    private String timestamp(int seconds) {
+        return String.format(Locale.ROOT, "%02d:%02d:%02d.000", seconds / 3600, seconds / 60 % 60, seconds % 60);
+    }
+}
@@ -0,0 +1,299 @@
+package kr.salm.file.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+
+/**
+ * 구간 병렬 인코딩 (긴 영상용)
+ * 1. 키프레임 기준으로 원본 비디오를 N 구간으로 분할 (스트림 복사)
+ * 2. 구간별 비디오 인코딩 + 오디오 전체 인코딩 + 썸네일 + 부가 출력(스프라이트/구간 점수)을 동시에 실행
+ *    - 한 번에 디코딩하는 패스가 없으므로 부가 출력은 키프레임만 디코딩 (타일은 가까운 원본 키프레임)
+ * 3. concat 으로 무손실 이어붙이고 오디오 합쳐 faststart MP4 생성
+ * - 오디오는 분할하지 않으므로 구간 경계에서 싱크가 어긋나지 않음
+ * - 구간마다 단일 패스와 같은 x264 설정 + 구간 시작/KEYFRAME_SECONDS 마다 강제 키프레임, 같은 timescale
+ * - 동시 프로세스: 작업이 가진 1 자리 + EncodingCapacity 에서 빌린 자리만큼 (오디오/썸네일 포함)
+ * 4. ffprobe 로 단일 패스와 같은지 확인 (길이, 오디오/비디오 길이 차이, faststart)
+ */
+@Slf4j
+@Component
+public class SegmentedEncoder {
+
+    static final int KEYFRAME_SECONDS = 2;
+    private static final String TIMESCALE = "90000";
+    // 허용 오차 (초, 원본 길이는 초 단위 정수)
+    private static final double MAX_DURATION_DRIFT = 1.0;
+    private static final double MAX_AV_DRIFT = 0.2;
+
+    private final FfmpegRunner ffmpegRunner;
+    private final EncodingCapacity encodingCapacity;
+    private final MediaProbe mediaProbe;
+    private final ExecutorService pool;
+
+    public SegmentedEncoder(FfmpegRunner ffmpegRunner, EncodingCapacity encodingCapacity, MediaProbe mediaProbe) {
+        this.ffmpegRunner = ffmpegRunner;
+        this.encodingCapacity = encodingCapacity;
+        this.mediaProbe = mediaProbe;
+        // 빌린 자리 수만큼만 사용 (빌릴 수 있는 최대치 = slots)
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(encodingCapacity.getSlots(), r -> {
+            Thread t = new Thread(r, "segment-encoder-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public int segmentCount() {
+        return Math.max(2, Math.min(8, encodingCapacity.getSlots() * 2));
+    }
+
+    public void encode(Path input, Path output, Path thumbPath, VideoFileService.VideoMetadata meta,
+                       int targetWidth, int targetHeight, String thumbOffset, List<String> sideCommand,
+                       DoubleConsumer onOutTime) throws Exception {
+        Path workDir = output.resolveSibling(output.getFileName() + "_seg");
+        Files.createDirectories(workDir);
+
+        try {
+            List<Path> sources = split(input, workDir, meta.duration());
+            log.info("구간 병렬 인코딩: {} 구간", sources.size());
+
+            // 진행률: 완료된 구간 비율만큼 출력 시각 환산
+            AtomicInteger done = new AtomicInteger();
+            List<Path> encoded = new ArrayList<>();
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < sources.size(); i++) {
+                Path src = sources.get(i);
+                Path enc = workDir.resolve(String.format("enc_%03d.mp4", i));
+                encoded.add(enc);
+                tasks.add(() -> {
+                    encodeSegment(src, enc, targetWidth, targetHeight);
+                    onOutTime.accept((double) meta.duration() * done.incrementAndGet() / sources.size());
+                    return null;
+                });
+            }
+
+            Path audio = workDir.resolve("audio.m4a");
+            if (meta.hasAudio()) {
+                tasks.add(() -> {
+                    ffmpegRunner.run(List.of(
+                        "ffmpeg", "-y", "-i", input.toString(),
+                        "-map", "0:a:0", "-vn",
+                        "-c:a", "aac", "-b:a", "128k",
+                        audio.toString()
+                    ), 5, "오디오 인코딩");
+                    return null;
+                });
+            }
+
+            tasks.add(() -> {
+                ffmpegRunner.run(List.of(
+                    "ffmpeg", "-y", "-ss", thumbOffset, "-i", input.toString(),
+                    "-frames:v", "1",
+                    "-vf", "scale=480:-2",
+                    "-q:v", "2",
+                    thumbPath.toString()
+                ), 1, "썸네일");
+                return null;
+            });
+
+            // 부가 출력 (실패해도 인코딩은 계속, 호출 측에서 결과 파일 유무로 판단)
+            if (sideCommand != null) {
+                tasks.add(() -> {
+                    try {
+                        ffmpegRunner.run(sideCommand, 2, "부가 출력");
+                    } catch (Exception e) {
+                        log.warn("부가 출력 생성 실패: {}", e.getMessage());
+                    }
+                    return null;
+                });
+            }
+
+            runLimited(tasks);
+
+            concat(encoded, meta.hasAudio() ? audio : null, workDir, output);
+            verify(output, meta);
+        } finally {
+            deleteRecursively(workDir);
+        }
+    }
+
+    /**
+     * 호출 스레드(작업 자리) + 빌린 자리 수만큼의 레인이 작업 목록을 나눠 실행
+     */
+    private void runLimited(List<Callable<Void>> tasks) throws Exception {
+        int borrowed = encodingCapacity.borrow(tasks.size() - 1);
+        try {
+            Queue<Callable<Void>> pending = new ConcurrentLinkedQueue<>(tasks);
+            Callable<Void> lane = () -> {
+                Callable<Void> task;
+                while ((task = pending.poll()) != null) {
+                    task.call();
+                }
+                return null;
+            };
+
+            List<Future<Void>> lanes = new ArrayList<>();
+            for (int i = 0; i < borrowed; i++) {
+                lanes.add(pool.submit(lane));
+            }
+            Exception failure = null;
+            try {
+                lane.call();
+            } catch (Exception e) {
+                pending.clear();
+                failure = e;
+            }
+            for (Future<Void> future : lanes) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    pending.clear();
+                    if (failure == null) failure = e.getCause() instanceof Exception ex ? ex : e;
+                }
+            }
+            if (failure != null) throw failure;
+        } finally {
+            encodingCapacity.release(borrowed);
+        }
+    }
+
+    /**
+     * 단일 패스 결과와 같은지 확인 (길이, A/V 길이 차이, moov 가 mdat 앞)
+     */
+    void verify(Path output, VideoFileService.VideoMetadata meta) throws Exception {
+        ProbeResult probe = mediaProbe.probe(output);
+        if (Math.abs(probe.duration() - meta.duration()) > MAX_DURATION_DRIFT) {
+            throw new IllegalStateException("구간 병합 길이 불일치: " + probe.duration() + "초 (원본 " + meta.duration() + "초)");
+        }
+        if (meta.hasAudio()) {
+            if (!probe.hasAudio()) {
+                throw new IllegalStateException("구간 병합 결과에 오디오 없음");
+            }
+            double drift = Math.abs(probe.videoDuration() - probe.audioDuration());
+            if (probe.videoDuration() > 0 && probe.audioDuration() > 0 && drift > MAX_AV_DRIFT) {
+                throw new IllegalStateException(String.format(Locale.ROOT, "구간 병합 A/V 길이 차이 %.3f초", drift));
+            }
+        }
+        if (!moovBeforeMdat(output)) {
+            throw new IllegalStateException("구간 병합 결과가 faststart 아님");
+        }
+    }
+
+    // 최상위 MP4 박스 순서 확인
+    static boolean moovBeforeMdat(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            long pos = 0;
+            long size = channel.size();
+            while (pos + 8 <= size) {
+                header.clear();
+                channel.read(header, pos);
+                header.flip();
+                if (header.remaining() < 8) return false;
+                long boxSize = header.getInt() & 0xFFFFFFFFL;
+                byte[] type = new byte[4];
+                header.get(type);
+                String name = new String(type, StandardCharsets.US_ASCII);
+                if ("moov".equals(name)) return true;
+                if ("mdat".equals(name)) return false;
+                if (boxSize == 1 && header.remaining() >= 8) {
+                    boxSize = header.getLong();
+                } else if (boxSize == 0) {
+                    return false;
+                }
+                if (boxSize < 8) return false;
+                pos += boxSize;
+            }
+            return false;
+        }
+    }
+
+    // 키프레임 단위 분할 (재인코딩 없음)
+    private List<Path> split(Path input, Path workDir, int duration) throws Exception {
+        int segmentSeconds = Math.max(1, (int) Math.ceil((double) duration / segmentCount()));
+        ffmpegRunner.run(List.of(
+            "ffmpeg", "-y", "-i", input.toString(),
+            "-map", "0:v:0", "-an",
+            "-c", "copy",
+            "-f", "segment",
+            "-segment_time", String.valueOf(segmentSeconds),
+            "-segment_format", "mp4",
+            "-reset_timestamps", "1",
+            "-avoid_negative_ts", "make_zero",
+            workDir.resolve("src_%03d.mp4").toString()
+        ), 2, "구간 분할");
+
+        try (var files = Files.list(workDir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("src_"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void encodeSegment(Path src, Path out, int targetWidth, int targetHeight) throws Exception {
+        List<String> command = new ArrayList<>(List.of(
+            "ffmpeg", "-y", "-i", src.toString(),
+            "-an",
+            "-vf", "scale=" + targetWidth + ":" + targetHeight
+        ));
+        command.addAll(VideoFileService.WEB_VIDEO_CODEC_ARGS);
+        command.addAll(List.of(
+            // 구간 첫 프레임(n_forced=0)과 이후 일정 간격에 IDR → concat 경계에서 참조가 끊기지 않음
+            "-force_key_frames", "expr:gte(t,n_forced*" + KEYFRAME_SECONDS + ")",
+            "-video_track_timescale", TIMESCALE,
+            "-threads", String.valueOf(encodingCapacity.getThreadsPerJob()),
+            out.toString()
+        ));
+        ffmpegRunner.run(command, 5, "구간 인코딩");
+    }
+
+    private void concat(List<Path> segments, Path audio, Path workDir, Path output) throws Exception {
+        Path list = workDir.resolve("concat.txt");
+        StringBuilder sb = new StringBuilder();
+        for (Path segment : segments) {
+            sb.append("file '").append(segment.toAbsolutePath().toString().replace("'", "'\\''")).append("'\n");
+        }
+        Files.writeString(list, sb.toString());
+
+        List<String> command = new ArrayList<>(List.of(
+            "ffmpeg", "-y",
+            "-f", "concat", "-safe", "0", "-i", list.toString()
+        ));
+        if (audio != null) {
+            command.addAll(List.of("-i", audio.toString(), "-map", "0:v:0", "-map", "1:a:0"));
+        }
+        command.addAll(List.of(
+            "-c", "copy",
+            "-movflags", "+faststart",
+            output.toString()
+        ));
+        ffmpegRunner.run(command, 2, "구간 병합");
+    }
+
+    private void deleteRecursively(Path dir) {
+        try (var paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (Exception ignored) {}
+            });
+        } catch (Exception e) {
+            log.warn("구간 작업 디렉토리 삭제 실패: {}", dir);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,107 @@
+package kr.salm.file.service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.*;
+
+/**
+ * AWS SigV4 헤더 서명 (S3BlobStore 용)
+ * - 서명 헤더는 소문자 이름 순, 값은 앞뒤 공백 제거
+ * - host / x-amz-date / x-amz-content-sha256 은 호출 측에서 headers 에 넣음
+ */
+final class SigV4Signer {
+
+    static final String ALGORITHM = "AWS4-HMAC-SHA256";
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+    private final String service;
+
+    SigV4Signer(String accessKey, String secretKey, String region, String service) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+        this.service = service;
+    }
+
+    /**
+     * @param path        인코딩된 경로 (encodePath 결과)
+     * @param query       인코딩된 쿼리 (canonicalQuery 결과)
+     * @param headers     서명할 헤더 (소문자 이름)
+     * @param payloadHash 본문 SHA-256 hex 또는 UNSIGNED-PAYLOAD
+     * @return Authorization 헤더 값
+     */
+    String authorization(String method, String path, String query, SortedMap<String, String> headers, String payloadHash) {
+        String amzDate = headers.get("x-amz-date");
+        String date = amzDate.substring(0, 8);
+        String scope = date + "/" + region + "/" + service + "/aws4_request";
+        String signedHeaders = String.join(";", headers.keySet());
+
+        String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n"
+                + sha256Hex(canonicalRequest(method, path, query, headers, payloadHash));
+
+        byte[] signingKey = hmac(hmac(hmac(hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date), region), service), "aws4_request");
+        String signature = HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope
+                + ", SignedHeaders=" + signedHeaders + ", Signature=" + signature;
+    }
+
+    static String canonicalRequest(String method, String path, String query, SortedMap<String, String> headers,
+                                   String payloadHash) {
+        StringBuilder canonicalHeaders = new StringBuilder();
+        headers.forEach((k, v) -> canonicalHeaders.append(k).append(':').append(v.trim()).append('\n'));
+        return method + "\n" + path + "\n" + query + "\n"
+                + canonicalHeaders + "\n" + String.join(";", headers.keySet()) + "\n" + payloadHash;
+    }
+
+    static String canonicalQuery(Map<String, String> query) {
+        StringBuilder sb = new StringBuilder();
+        new TreeMap<>(query).forEach((k, v) -> {
+            if (sb.length() > 0) sb.append('&');
+            sb.append(encode(k)).append('=').append(encode(v));
+        });
+        return sb.toString();
+    }
+
+    static String encodePath(String key) {
+        StringBuilder sb = new StringBuilder();
+        for (String segment : key.split("/", -1)) {
+            if (sb.length() > 0 || key.startsWith("/")) sb.append('/');
+            sb.append(encode(segment));
+        }
+        return sb.toString();
+    }
+
+    // RFC 3986 unreserved 외 모두 인코딩 (AWS 규칙)
+    static String encode(String value) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~') {
+                sb.append(c);
+            } else {
+                sb.append('%').append(String.format("%02X", b & 0xff));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String sha256Hex(String value) {
+        return HexFormat.of().formatHex(VideoFileService.newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] hmac(byte[] key, String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
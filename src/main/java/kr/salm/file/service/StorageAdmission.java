@@ -0,0 +1,193 @@
+package kr.salm.file.service;
+
+import kr.salm.community.repository.VideoRepository;
+import kr.salm.core.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 업로드 접수 전 저장 공간 확인 + 예약
+ * - 디스크: upload-dir 파일시스템 여유 공간 - 진행 중 예약 합계 - 최소 여유분
+ * - 사용자: 삭제되지 않은 영상 fileSize 합계 + 진행 중 예약 ≤ 사용자 한도 (0 이면 제한 없음)
+ * - 영상 예약량: 원본 + 예상 인코딩 결과 (원본 × output-factor)
+ *   원본이 디스크에 쓰이는 만큼 commit 으로 디스크 예약을 줄임 (여유 공간에 이미 반영되므로)
+ * - 예약 수명은 업로드/인코딩 작업과 같음: 업로드 ID → fileKey 로 넘겨받고 작업 완료/실패, 업로드 취소/정리 시 해제
+ *   메모리에만 있으므로 재시작 시 남은 분할 업로드와 대기 작업이 restoreVideo 로 다시 등록
+ * - 사용자 한도 확인(DB 조회)은 사용자별 잠금 안에서만, 디스크 계산만 전역 잠금
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StorageAdmission {
+
+    private static final int AUTHOR_LOCK_STRIPES = 64;
+
+    private final VideoRepository videoRepository;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    @Value("${file.admission.enabled:true}")
+    private boolean enabled;
+
+    // 디스크에 항상 남겨둘 여유 공간 (ffmpeg 임시 파일, 로그 등)
+    @Value("${file.admission.min-free-bytes:2147483648}")
+    private long minFreeBytes;
+
+    // 인코딩 결과 예상 크기 (원본 대비, HLS 포함)
+    @Value("${file.admission.output-factor:1.5}")
+    private double outputFactor;
+
+    @Value("${file.admission.user-quota-bytes:0}")
+    private long userQuotaBytes;
+
+    // 예약 (diskLock 으로 보호)
+    private final Map<String, Reservation> reservations = new HashMap<>();
+    private final Object diskLock = new Object();
+
+    // 사용자별 한도 확인 직렬화 (userId 해시로 나눈 잠금)
+    private final Object[] authorLocks = new Object[AUTHOR_LOCK_STRIPES];
+    {
+        for (int i = 0; i < authorLocks.length; i++) authorLocks[i] = new Object();
+    }
+
+    private static final class Reservation {
+        private final Long userId;
+        private final long quotaBytes;
+        // 아직 디스크에 쓰이지 않은 예약량
+        private long diskBytes;
+
+        private Reservation(Long userId, long diskBytes, long quotaBytes) {
+            this.userId = userId;
+            this.diskBytes = diskBytes;
+            this.quotaBytes = quotaBytes;
+        }
+    }
+
+    /**
+     * 영상 업로드 예약 (원본 + 예상 인코딩 결과)
+     * @throws BusinessException 공간/한도 부족 (507)
+     */
+    public void reserveVideo(String key, Long userId, long sourceBytes) {
+        long output = outputBytes(sourceBytes);
+        reserve(key, userId, sourceBytes + output, output);
+    }
+
+    /**
+     * 이미지 등 바로 저장되는 파일 예약 (저장 후 release)
+     */
+    public void reserveFile(String key, Long userId, long bytes) {
+        reserve(key, userId, bytes, 0);
+    }
+
+    /**
+     * 재시작 시 진행 중인 업로드/작업의 예약 복원 (공간/한도 확인 없이 등록)
+     * @param landedBytes 이미 디스크에 있는 원본 바이트
+     */
+    public void restoreVideo(String key, Long userId, long sourceBytes, long landedBytes) {
+        if (!enabled) return;
+        long output = outputBytes(sourceBytes);
+        synchronized (diskLock) {
+            reservations.put(key, new Reservation(userId, Math.max(0, sourceBytes - landedBytes) + output, output));
+        }
+    }
+
+    /**
+     * 예약분 중 bytes 만큼 디스크에 기록됨 (여유 공간 계산에 이미 반영되므로 예약에서 제외)
+     */
+    public void commit(String key, long bytes) {
+        if (!enabled || bytes <= 0) return;
+        synchronized (diskLock) {
+            Reservation reservation = reservations.get(key);
+            if (reservation != null) {
+                reservation.diskBytes = Math.max(0, reservation.diskBytes - bytes);
+            }
+        }
+    }
+
+    /**
+     * 분할 업로드 ID → 원본 fileKey 로 예약 이관
+     */
+    public void transfer(String fromKey, String toKey) {
+        synchronized (diskLock) {
+            Reservation reservation = reservations.remove(fromKey);
+            if (reservation != null) {
+                reservations.put(toKey, reservation);
+            }
+        }
+    }
+
+    public void release(String key) {
+        synchronized (diskLock) {
+            reservations.remove(key);
+        }
+    }
+
+    private void reserve(String key, Long userId, long diskBytes, long quotaBytes) {
+        if (!enabled) return;
+        if (userQuotaBytes <= 0 || quotaBytes <= 0) {
+            reserveDisk(key, userId, diskBytes, quotaBytes);
+            return;
+        }
+
+        // 같은 사용자의 동시 예약만 직렬화, DB 조회 중에도 다른 사용자 예약은 진행
+        synchronized (authorLocks[Math.floorMod(userId.hashCode(), AUTHOR_LOCK_STRIPES)]) {
+            // 예약을 먼저 읽음: 그 사이 완료된 작업은 DB 합계와 예약 양쪽에 잡혀 많게 계산될 뿐
+            long userReserved = userReserved(userId);
+            long used = videoRepository.sumFileSizeByAuthor(userId);
+            if (used + userReserved + quotaBytes > userQuotaBytes) {
+                throw BusinessException.insufficientStorage("저장 한도(" + userQuotaBytes / 1024 / 1024 + "MB)를 초과했습니다.");
+            }
+            reserveDisk(key, userId, diskBytes, quotaBytes);
+        }
+    }
+
+    private void reserveDisk(String key, Long userId, long diskBytes, long quotaBytes) {
+        long usable = usableSpace();
+        synchronized (diskLock) {
+            long reserved = 0;
+            for (Reservation r : reservations.values()) {
+                reserved += r.diskBytes;
+            }
+            if (usable - reserved - minFreeBytes < diskBytes) {
+                log.warn("저장 공간 부족으로 업로드 거부: 요청 {} bytes, 여유 {} bytes, 예약 {} bytes", diskBytes, usable, reserved);
+                throw BusinessException.insufficientStorage("서버 저장 공간이 부족합니다. 잠시 후 다시 시도해주세요.");
+            }
+            reservations.put(key, new Reservation(userId, diskBytes, quotaBytes));
+        }
+    }
+
+    private long userReserved(Long userId) {
+        synchronized (diskLock) {
+            long total = 0;
+            for (Reservation r : reservations.values()) {
+                if (r.userId.equals(userId)) total += r.quotaBytes;
+            }
+            return total;
+        }
+    }
+
+    private long outputBytes(long sourceBytes) {
+        return (long) Math.ceil(sourceBytes * outputFactor);
+    }
+
+    private long usableSpace() {
+        Path dir = Paths.get(uploadDir);
+        try {
+            Files.createDirectories(dir);
+            return Files.getFileStore(dir).getUsableSpace();
+        } catch (IOException e) {
+            log.warn("여유 공간 확인 실패: {} ({})", dir, e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package kr.salm.file.service;
+
+import kr.salm.community.repository.VideoRepository;
+import kr.salm.file.entity.StorageTier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 오래 안 본 영상 파일을 COLD 계층으로 이동
+ * - 대상: MP4 + HLS (썸네일/스프라이트/미리보기는 피드에서 계속 쓰므로 HOT 유지)
+ * - COLD 도 같은 키로 읽을 수 있으므로 재생 경로는 그대로
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageTieringService {
+
+    private final VideoRepository videoRepository;
+    private final BlobStore blobStore;
+
+    @Value("${file.storage.tiering.enabled:false}")
+    private boolean enabled;
+
+    @Value("${file.storage.tiering.cold-after-days:30}")
+    private int coldAfterDays;
+
+    @Value("${file.storage.tiering.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(cron = "${file.storage.tiering.cron:0 30 4 * * *}")
+    public void run() {
+        if (!enabled) return;
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(coldAfterDays);
+        List<Object[]> candidates = videoRepository.findTieringCandidates(cutoff, PageRequest.of(0, batchSize));
+        int moved = 0;
+        for (Object[] row : candidates) {
+            String videoPath = (String) row[0];
+            String manifestPath = (String) row[1];
+            try {
+                for (String key : keysOf(videoPath, manifestPath)) {
+                    blobStore.moveToTier(key, StorageTier.COLD);
+                }
+                videoRepository.updateStorageTier(videoPath, StorageTier.COLD);
+                moved++;
+            } catch (IOException e) {
+                log.warn("COLD 이동 실패: {} ({})", videoPath, e.getMessage());
+            }
+        }
+        if (moved > 0) {
+            log.info("COLD 계층 이동: {} 건 ({}일 이상 미조회)", moved, coldAfterDays);
+        }
+    }
+
+    private List<String> keysOf(String videoPath, String manifestPath) throws IOException {
+        List<String> keys = new ArrayList<>();
+        keys.add(BlobStore.keyOf(videoPath));
+        if (manifestPath != null) {
+            String manifestKey = BlobStore.keyOf(manifestPath);
+            keys.addAll(blobStore.list(manifestKey.substring(0, manifestKey.lastIndexOf('/') + 1)));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,151 @@
+package kr.salm.file.service;
+
+import kr.salm.core.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 업로드 중인 파일 앞부분 검사 (전송 완료 전에 거부)
+ * - 컨테이너 시그니처: ISO BMFF(ftyp 등) / EBML(mkv, webm) / RIFF AVI, 확장자와 계열이 맞아야 함
+ * - 헤더가 다 들어오면 부분 파일을 ffprobe 로 분석해 길이/영상 스트림 확인
+ *   · MP4/MOV: moov 가 mdat 앞에 있을 때만 (뒤에 있으면 완료 후 분석)
+ *   · 그 외: 앞 2MB 수신 후
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadInspector {
+
+    static final int SNIFF_BYTES = 16;
+    static final long GENERIC_PROBE_BYTES = 2L * 1024 * 1024;
+    // moov/mdat 을 찾지 못하고 이 위치를 넘으면 조기 분석 포기
+    private static final long MAX_HEADER_SCAN = 64L * 1024 * 1024;
+
+    enum Container { ISO_BMFF, EBML, RIFF_AVI }
+
+    private static final Map<String, Container> EXTENSION_CONTAINERS = Map.of(
+        "mp4", Container.ISO_BMFF,
+        "mov", Container.ISO_BMFF,
+        "mkv", Container.EBML,
+        "webm", Container.EBML,
+        "avi", Container.RIFF_AVI
+    );
+
+    // ftyp 없이 시작하는 오래된 QuickTime 파일의 첫 atom
+    private static final Set<String> QUICKTIME_ATOMS = Set.of("ftyp", "moov", "mdat", "wide", "free", "skip", "pnot");
+
+    private final MediaProbe mediaProbe;
+
+    /**
+     * @param written 현재까지 기록된 바이트 수
+     * @return true: 검사 끝 (통과 또는 조기 판단 불가), false: 더 받은 뒤 다시 호출
+     * @throws BusinessException 형식/길이 불일치 (415)
+     */
+    public boolean inspect(Path file, long written, String extension, int maxDuration) throws IOException {
+        if (written < SNIFF_BYTES) return false;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(SNIFF_BYTES);
+            channel.read(head, 0);
+            Container container = sniff(head.array());
+            if (container == null) {
+                throw BusinessException.unsupportedMedia("영상 파일이 아닙니다.");
+            }
+            if (EXTENSION_CONTAINERS.get(extension) != container) {
+                throw BusinessException.unsupportedMedia("파일 내용이 확장자(" + extension + ")와 다릅니다.");
+            }
+
+            if (container == Container.ISO_BMFF) {
+                HeaderState state = isoHeaderState(channel, written);
+                if (state == HeaderState.NEED_MORE) return false;
+                if (state == HeaderState.UNAVAILABLE) return true;
+            } else if (written < GENERIC_PROBE_BYTES) {
+                return false;
+            }
+        }
+
+        probe(file, maxDuration);
+        return true;
+    }
+
+    static Container sniff(byte[] head) {
+        // EBML: 1A 45 DF A3
+        if ((head[0] & 0xff) == 0x1A && (head[1] & 0xff) == 0x45 && (head[2] & 0xff) == 0xDF && (head[3] & 0xff) == 0xA3) {
+            return Container.EBML;
+        }
+        // RIFF....AVI
+        if (ascii(head, 0, 4).equals("RIFF") && ascii(head, 8, 4).equals("AVI ")) {
+            return Container.RIFF_AVI;
+        }
+        // [size]ftyp
+        if (QUICKTIME_ATOMS.contains(ascii(head, 4, 4))) {
+            return Container.ISO_BMFF;
+        }
+        return null;
+    }
+
+    private enum HeaderState { NEED_MORE, READY, UNAVAILABLE }
+
+    /**
+     * 최상위 box 순회: moov 가 mdat 보다 먼저 다 들어왔는지
+     */
+    private HeaderState isoHeaderState(FileChannel channel, long written) throws IOException {
+        long offset = 0;
+        ByteBuffer header = ByteBuffer.allocate(16);
+        while (offset + 8 <= written) {
+            if (offset > MAX_HEADER_SCAN) return HeaderState.UNAVAILABLE;
+
+            header.clear();
+            channel.read(header, offset);
+            long size = Integer.toUnsignedLong(header.getInt(0));
+            String type = new String(header.array(), 4, 4, StandardCharsets.US_ASCII);
+            if (size == 1) {
+                if (offset + 16 > written) return HeaderState.NEED_MORE;
+                size = header.getLong(8);
+            }
+
+            if ("moov".equals(type)) {
+                return size > 0 && offset + size <= written ? HeaderState.READY : HeaderState.NEED_MORE;
+            }
+            if ("mdat".equals(type) || size == 0) {
+                return HeaderState.UNAVAILABLE;  // moov 가 파일 끝에 있음
+            }
+            if (size < 8) {
+                throw BusinessException.unsupportedMedia("손상된 영상 파일입니다.");
+            }
+            offset += size;
+        }
+        return HeaderState.NEED_MORE;
+    }
+
+    private void probe(Path file, int maxDuration) {
+        ProbeResult probe;
+        try {
+            probe = mediaProbe.probe(file);
+        } catch (Exception e) {
+            // 부분 파일이라 분석 못 하는 경우는 완료 후 분석에 맡김
+            log.debug("업로드 중 분석 생략: {} ({})", file, e.getMessage());
+            return;
+        }
+        if (!probe.hasVideo()) {
+            throw BusinessException.unsupportedMedia("영상 스트림이 없는 파일입니다.");
+        }
+        if (probe.duration() > maxDuration + 0.5) {
+            throw BusinessException.unsupportedMedia("영상 길이는 " + maxDuration + "초 이하만 가능합니다.");
+        }
+    }
+
+    private static String ascii(byte[] bytes, int offset, int length) {
+        return new String(bytes, offset, length, StandardCharsets.US_ASCII);
+    }
+}
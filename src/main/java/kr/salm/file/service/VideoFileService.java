@@ -1,6 +1,7 @@
 package kr.salm.file.service;
 
 import kr.salm.core.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -8,99 +9,424 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.*;
 import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.function.DoubleConsumer;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class VideoFileService {
 
+    private final FfmpegRunner ffmpegRunner;
+    private final HlsLadderEncoder hlsLadderEncoder;
+    private final MediaProbe mediaProbe;
+    private final EncodingCapacity encodingCapacity;
+    private final SegmentedEncoder segmentedEncoder;
+    private final ScrubSpriteGenerator scrubSpriteGenerator;
+    private final PreviewClipGenerator previewClipGenerator;
+    private final BlobStore blobStore;
+    private final UploadInspector uploadInspector;
+
     @Value("${file.upload-dir}")
     private String uploadDir;
 
+    // HLS 적응형 스트리밍 출력 (MP4 와 함께 생성)
+    @Value("${file.video.hls.enabled:false}")
+    private boolean hlsEnabled;
+
+    // 긴 영상 구간 병렬 인코딩
+    @Value("${file.video.encoding.segment-parallel:false}")
+    private boolean segmentParallel;
+
+    @Value("${file.video.encoding.segment-min-duration:60}")
+    private int segmentMinDuration;
+
     private static final Set<String> ALLOWED_EXTENSIONS = Set.of("mp4", "mov", "avi", "webm", "mkv");
     private static final long MAX_FILE_SIZE = 500 * 1024 * 1024; // 500MB (인코딩 전)
     private static final int MAX_DURATION = 180;
+    private static final int COPY_BLOCK = 1024 * 1024;
+
+    // 재인코딩 없이 리먹싱만 하는 조건 (웹 재생 가능 범위)
+    private static final Set<String> REMUX_PROFILES = Set.of("Constrained Baseline", "Baseline", "Main", "High");
+    private static final int REMUX_MAX_LEVEL = 41;                 // 4.1
+    private static final long REMUX_MAX_VIDEO_BITRATE = 6_000_000; // 6 Mbps
+    private static final int REMUX_MAX_SHORT_SIDE = 1080;
+    private static final int REMUX_MAX_LONG_SIDE = 1920;
+
+    // 웹 최적화 비디오 인코딩 설정 (단일 패스/구간 병렬 공통)
+    static final List<String> WEB_VIDEO_CODEC_ARGS = List.of(
+        "-c:v", "libx264",
+        "-preset", "fast",
+        "-crf", "23",
+        "-profile:v", "high",
+        "-level", "4.1"
+    );
 
-    // 비동기 인코딩용 (서버 부하 분산)
-    private final ExecutorService encodingExecutor = Executors.newFixedThreadPool(2);
-
-    public VideoUploadResult upload(MultipartFile file) {
+    /**
+     * 업로드 원본 저장 (인코딩은 EncodingWorker 가 비동기 처리)
+     */
+    public StoredUpload store(MultipartFile file) {
         validateFile(file);
 
-        String originalFilename = file.getOriginalFilename();
-        String ext = getExtension(originalFilename);
+        String ext = getExtension(file.getOriginalFilename());
         String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-        String uuid = UUID.randomUUID().toString();
-        
+        String fileKey = UUID.randomUUID().toString();
+
         // 원본 저장 경로
-        String tempFilename = uuid + "_temp." + ext;
-        Path tempPath = Paths.get(uploadDir, "videos", datePath, tempFilename);
-        
+        Path tempPath = Paths.get(uploadDir, "videos", datePath, fileKey + "_temp." + ext);
+
+        try {
+            Files.createDirectories(tempPath.getParent());
+
+            // 저장하면서 SHA-256 계산 (중복 영상 판별용), 앞부분 검사가 끝날 때까지 블록마다 확인
+            MessageDigest digest = newDigest();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(tempPath)) {
+                byte[] buffer = new byte[COPY_BLOCK];
+                long written = 0;
+                boolean inspected = false;
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    written += read;
+                    if (!inspected) {
+                        out.flush();
+                        inspected = inspectPartial(tempPath, written, file.getOriginalFilename());
+                    }
+                }
+            }
+            log.info("원본 저장 완료: {}", tempPath);
+            return new StoredUpload(tempPath, datePath, fileKey, HexFormat.of().formatHex(digest.digest()));
+        } catch (BusinessException e) {
+            log.info("업로드 거부: {} ({})", file.getOriginalFilename(), e.getMessage());
+            deleteQuietly(tempPath);
+            throw e;
+        } catch (Exception e) {
+            log.error("원본 저장 실패: {}", e.getMessage());
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (IOException ignored) {}
+            throw BusinessException.badRequest("영상 저장에 실패했습니다.");
+        }
+    }
+
+    /**
+     * 분할 업로드 완료 파일을 원본 위치로 이동 (같은 파일시스템이면 rename)
+     */
+    public StoredUpload adopt(Path completed, String originalFilename, String contentHash) {
+        String ext = getExtension(originalFilename);
+        String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        String fileKey = UUID.randomUUID().toString();
+        Path tempPath = Paths.get(uploadDir, "videos", datePath, fileKey + "_temp." + ext);
+
+        try {
+            Files.createDirectories(tempPath.getParent());
+            Files.move(completed, tempPath, StandardCopyOption.ATOMIC_MOVE);
+            log.info("분할 업로드 원본 이동: {}", tempPath);
+            return new StoredUpload(tempPath, datePath, fileKey, contentHash);
+        } catch (IOException e) {
+            log.error("분할 업로드 원본 이동 실패: {}", e.getMessage());
+            throw BusinessException.badRequest("영상 저장에 실패했습니다.");
+        }
+    }
+
+    /**
+     * 저장된 원본 인코딩 (메타데이터 추출 → 인코딩 → 썸네일)
+     * - 원본 삭제는 호출 측에서 작업 완료 기록 후 처리
+     */
+    public VideoUploadResult process(Path source, String datePath, String fileKey, ProcessingListener listener) {
         // 최종 파일 경로 (항상 mp4)
-        String finalFilename = uuid + ".mp4";
-        Path finalPath = Paths.get(uploadDir, "videos", datePath, finalFilename);
-        
+        Path finalPath = Paths.get(uploadDir, "videos", datePath, fileKey + ".mp4");
+
         // 썸네일 경로
-        String thumbFilename = uuid + "_thumb.jpg";
+        String thumbFilename = fileKey + "_thumb.jpg";
         Path thumbPath = Paths.get(uploadDir, "thumbnails", datePath, thumbFilename);
 
+        // 탐색 미리보기 스프라이트 + VTT (썸네일 옆)
+        String spriteFilename = fileKey + "_sprite.jpg";
+        String spriteVttFilename = fileKey + "_sprite.vtt";
+        Path spritePath = thumbPath.resolveSibling(spriteFilename);
+        Path spriteVttPath = thumbPath.resolveSibling(spriteVttFilename);
+
+        // 피드 미리보기 클립 (무음 저해상도)
+        String previewFilename = fileKey + "_preview.mp4";
+        Path previewPath = Paths.get(uploadDir, "videos", datePath, previewFilename);
+        Path scoresPath = previewClipGenerator.scoresPath(previewPath);
+
+        // HLS 출력 디렉토리
+        String hlsDirname = fileKey + "_hls";
+        Path hlsDir = Paths.get(uploadDir, "videos", datePath, hlsDirname);
+
         try {
-            Files.createDirectories(tempPath.getParent());
+            if (!Files.exists(source)) {
+                throw BusinessException.badRequest("원본 파일이 없습니다.");
+            }
             Files.createDirectories(thumbPath.getParent());
-            
-            // 원본 저장
-            file.transferTo(tempPath.toFile());
-            log.info("원본 저장 완료: {}", tempPath);
 
             // 메타데이터 추출
-            VideoMetadata metadata = extractMetadata(tempPath);
-            
+            ProbeResult probe = mediaProbe.probe(source);
+            if (!probe.hasVideo()) {
+                throw BusinessException.badRequest("영상 스트림이 없는 파일입니다.");
+            }
+            VideoMetadata metadata = probe.toMetadata();
+
             if (metadata.duration > MAX_DURATION) {
-                Files.deleteIfExists(tempPath);
                 throw BusinessException.badRequest("영상 길이는 " + MAX_DURATION + "초 이하만 가능합니다.");
             }
 
-            // 웹 최적화 인코딩
-            encodeForWeb(tempPath, finalPath, metadata);
-            
-            // 원본 삭제
-            Files.deleteIfExists(tempPath);
+            // 이미 웹 호환이면 리먹싱만, 아니면 웹 최적화 인코딩
+            // (썸네일/스프라이트/미리보기 구간 점수는 같은 ffmpeg 에서 함께 출력)
+            // 진행률: HLS 출력이 있으면 MP4 0~60%, HLS 60~100%
+            listener.onEncodingStart();
+            double mp4Share = hlsEnabled ? 0.6 : 1.0;
+            DoubleConsumer mp4Progress = progressRange(listener, probe.duration(), 0, mp4Share);
+            VideoMetadata finalMetadata = canRemux(probe)
+                    ? remux(source, finalPath, thumbPath, spritePath, scoresPath, metadata, mp4Progress)
+                    : encodeForWeb(source, finalPath, thumbPath, spritePath, scoresPath, metadata, mp4Progress);
+
+            // 스프라이트 (인코딩 패스에서 함께 출력, 실패해도 서비스)
+            String spriteWebPath = null;
+            String spriteVttWebPath = null;
+            try {
+                if (scrubSpriteGenerator.writeVtt(spritePath, spriteVttPath, finalMetadata)) {
+                    spriteWebPath = "/thumbnails/" + datePath + "/" + spriteFilename;
+                    spriteVttWebPath = "/thumbnails/" + datePath + "/" + spriteVttFilename;
+                } else {
+                    deleteQuietly(spritePath);
+                }
+            } catch (Exception e) {
+                log.warn("스프라이트 생성 실패: {}", e.getMessage());
+                deleteQuietly(spritePath);
+                deleteQuietly(spriteVttPath);
+            }
 
-            // 썸네일 생성
-            generateThumbnail(finalPath, thumbPath);
+            // 미리보기 클립 (인코딩 결과에서 점수가 가장 높은 구간만 짧게 인코딩, 실패해도 서비스)
+            String previewWebPath = null;
+            try {
+                previewClipGenerator.generate(finalPath, previewPath, finalMetadata);
+                previewWebPath = "/videos/" + datePath + "/" + previewFilename;
+            } catch (Exception e) {
+                log.warn("미리보기 생성 실패: {}", e.getMessage());
+                deleteQuietly(previewPath);
+                deleteQuietly(scoresPath);
+            }
 
-            // 인코딩 후 메타데이터 다시 추출
-            VideoMetadata finalMetadata = extractMetadata(finalPath);
+            // HLS 화질별 출력 (실패해도 MP4 로 서비스)
+            String manifestPath = null;
+            if (hlsEnabled) {
+                try {
+                    hlsLadderEncoder.encode(source, hlsDir, metadata, progressRange(listener, probe.duration(), mp4Share, 1.0));
+                    manifestPath = "/videos/" + datePath + "/" + hlsDirname + "/" + HlsLadderEncoder.MASTER_PLAYLIST;
+                } catch (Exception e) {
+                    log.warn("HLS 인코딩 실패: {}", e.getMessage());
+                    deleteRecursively(hlsDir);
+                }
+            }
 
-            String videoPath = "/videos/" + datePath + "/" + finalFilename;
+            String videoPath = videoPathOf(datePath, fileKey);
             String thumbnailPath = "/thumbnails/" + datePath + "/" + thumbFilename;
 
-            log.info("영상 처리 완료: {} ({}x{}, {}초)", videoPath, finalMetadata.width, finalMetadata.height, finalMetadata.duration);
+            VideoUploadResult result = new VideoUploadResult(videoPath, thumbnailPath, manifestPath,
+                    spriteWebPath, spriteVttWebPath, previewWebPath, finalMetadata);
+            publish(result);
 
-            return new VideoUploadResult(videoPath, thumbnailPath, finalMetadata);
+            log.info("영상 처리 완료: {} ({}x{}, {}초)", videoPath, finalMetadata.width, finalMetadata.height, finalMetadata.duration);
+            return result;
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
-            log.error("영상 업로드 실패: {}", e.getMessage());
+            log.error("영상 처리 실패: {}", e.getMessage());
             // 정리
             try {
-                Files.deleteIfExists(tempPath);
                 Files.deleteIfExists(finalPath);
+                Files.deleteIfExists(thumbPath);
+                Files.deleteIfExists(spritePath);
+                Files.deleteIfExists(spriteVttPath);
+                Files.deleteIfExists(previewPath);
+                Files.deleteIfExists(scoresPath);
             } catch (IOException ignored) {}
+            deleteRecursively(hlsDir);
+            deleteStored(videoPathOf(datePath, fileKey), "/thumbnails/" + datePath + "/" + thumbFilename,
+                    "/videos/" + datePath + "/" + hlsDirname + "/" + HlsLadderEncoder.MASTER_PLAYLIST,
+                    "/thumbnails/" + datePath + "/" + spriteFilename, "/thumbnails/" + datePath + "/" + spriteVttFilename,
+                    "/videos/" + datePath + "/" + previewFilename);
             throw BusinessException.badRequest("영상 처리에 실패했습니다: " + e.getMessage());
         }
     }
 
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String sha256(Path path) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 로컬 작업 디렉토리의 결과를 저장소로 이동 (로컬 저장소면 같은 위치라 이동 없음, 원격이면 업로드 후 로컬 삭제)
+     */
+    private void publish(VideoUploadResult result) throws IOException {
+        for (String webPath : List.of(result.videoPath(), result.thumbnailPath())) {
+            blobStore.move(BlobStore.keyOf(webPath), Paths.get(uploadDir, BlobStore.keyOf(webPath)));
+        }
+        for (String webPath : Arrays.asList(result.spritePath(), result.spriteVttPath(), result.previewPath())) {
+            if (webPath != null) {
+                blobStore.move(BlobStore.keyOf(webPath), Paths.get(uploadDir, BlobStore.keyOf(webPath)));
+            }
+        }
+        if (result.manifestPath() != null) {
+            Path hlsDir = Paths.get(uploadDir, BlobStore.keyOf(result.manifestPath())).getParent();
+            List<Path> files;
+            try (var paths = Files.walk(hlsDir)) {
+                files = paths.filter(Files::isRegularFile).toList();
+            }
+            for (Path file : files) {
+                String key = Paths.get(uploadDir).relativize(file).toString().replace('\\', '/');
+                blobStore.move(key, file);
+            }
+        }
+    }
+
+    public boolean outputsExist(String videoPath) {
+        return videoPath != null && blobStore.exists(BlobStore.keyOf(videoPath));
+    }
+
+    /**
+     * 인코딩 결과 삭제 (동시 업로드로 다른 결과를 공유하게 된 경우)
+     */
+    public void deleteOutputs(VideoUploadResult result) {
+        deleteStored(result.videoPath(), result.thumbnailPath(), result.manifestPath(),
+                result.spritePath(), result.spriteVttPath(), result.previewPath());
+    }
+
+    /**
+     * 저장소에서 삭제 (manifest 는 HLS 디렉토리 전체)
+     */
+    public void deleteStored(String videoPath, String thumbnailPath, String manifestPath, String... extras) {
+        List<String> webPaths = new ArrayList<>(Arrays.asList(extras));
+        webPaths.add(videoPath);
+        webPaths.add(thumbnailPath);
+        for (String webPath : webPaths) {
+            if (webPath == null) continue;
+            try {
+                blobStore.delete(BlobStore.keyOf(webPath));
+            } catch (IOException e) {
+                log.warn("저장소 삭제 실패: {} ({})", webPath, e.getMessage());
+            }
+        }
+        if (manifestPath != null) {
+            String key = BlobStore.keyOf(manifestPath);
+            try {
+                blobStore.deletePrefix(key.substring(0, key.lastIndexOf('/') + 1));
+            } catch (IOException e) {
+                log.warn("저장소 삭제 실패: {} ({})", manifestPath, e.getMessage());
+            }
+        }
+    }
+
+    public String videoPathOf(String datePath, String fileKey) {
+        return "/videos/" + datePath + "/" + fileKey + ".mp4";
+    }
+
+    public void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패: {} ({})", path, e.getMessage());
+        }
+    }
+
+    private void deleteRecursively(Path dir) {
+        if (!Files.exists(dir)) return;
+        try (var paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("디렉토리 삭제 실패: {} ({})", dir, e.getMessage());
+        }
+    }
+
+    /**
+     * 리먹싱 가능 여부
+     * - H.264 (Baseline/Main/High, 레벨 4.1 이하, yuv420p)
+     * - 최대 1080p, 6 Mbps 이하
+     * - 오디오 없음 또는 AAC
+     * - MP4/MOV 컨테이너
+     */
+    boolean canRemux(ProbeResult probe) {
+        if (!"h264".equals(probe.videoCodec())) return false;
+        if (!REMUX_PROFILES.contains(probe.videoProfile())) return false;
+        if (probe.videoLevel() <= 0 || probe.videoLevel() > REMUX_MAX_LEVEL) return false;
+        if (!"yuv420p".equals(probe.pixelFormat())) return false;
+
+        int shortSide = Math.min(probe.displayWidth(), probe.displayHeight());
+        int longSide = Math.max(probe.displayWidth(), probe.displayHeight());
+        if (shortSide > REMUX_MAX_SHORT_SIDE || longSide > REMUX_MAX_LONG_SIDE) return false;
+
+        long videoBitRate = probe.videoBitRate() > 0 ? probe.videoBitRate() : probe.bitRate();
+        if (videoBitRate <= 0 || videoBitRate > REMUX_MAX_VIDEO_BITRATE) return false;
+
+        if (probe.hasAudio() && !"aac".equals(probe.audioCodec())) return false;
+
+        return probe.formatName().contains("mp4") || probe.formatName().contains("mov");
+    }
+
+    /**
+     * 리먹싱 (스트림 복사 + faststart) + 썸네일 + 스프라이트
+     * - 스트림이 그대로이므로 최종 메타데이터는 원본 분석 결과 사용
+     * - 전체 디코딩이 없으므로 스프라이트/구간 점수는 키프레임만 디코딩하는 두 번째 입력에서 출력
+     */
+    private VideoMetadata remux(Path input, Path output, Path thumbPath, Path spritePath, Path scoresPath,
+                                VideoMetadata meta, DoubleConsumer onOutTime) throws Exception {
+        List<String> command = new ArrayList<>(List.of("ffmpeg", "-y", "-i", input.toString()));
+        command.addAll(scrubSpriteGenerator.keyframeInputArgs(input));
+        command.addAll(List.of(
+            "-filter_complex", keyframeFilter("1:v", spritePath, scoresPath, meta),
+            // 출력 1: 스트림 복사
+            "-map", "0:v:0",
+            "-map", "0:a:0?",
+            "-c", "copy",
+            "-movflags", "+faststart",
+            output.toString(),
+            // 출력 2: 썸네일 (해당 위치까지만 디코딩)
+            "-map", "0:v:0",
+            "-ss", formatSeconds(thumbnailOffset(meta)),
+            "-frames:v", "1",
+            "-vf", "scale=480:-2",
+            "-q:v", "2",
+            thumbPath.toString()
+        ));
+        // 출력 3: 스프라이트, 출력 4: 구간 점수 (파일로만 기록)
+        command.addAll(scrubSpriteGenerator.outputArgs("sprite", spritePath));
+        command.addAll(previewClipGenerator.sceneOutputArgs("scene"));
+
+        log.info("리먹싱 시작 (재인코딩 생략): {}", input);
+        ffmpegRunner.run(command, 2, "리먹싱", onOutTime);
+        log.info("리먹싱 완료: {}", output);
+
+        return new VideoMetadata(meta.width, meta.height, meta.duration, Files.size(output), meta.hasAudio);
+    }
+
     /**
      * 웹 최적화 인코딩
      * - 해상도: 최대 1080p (세로 영상은 1080x1920)
      * - 비트레이트: 2~4 Mbps
      * - faststart: 스트리밍 즉시 시작
      */
-    private void encodeForWeb(Path input, Path output, VideoMetadata meta) throws Exception {
+    private VideoMetadata encodeForWeb(Path input, Path output, Path thumbPath, Path spritePath, Path scoresPath,
+                                       VideoMetadata meta, DoubleConsumer onOutTime) throws Exception {
         // 해상도 계산 (최대 1080p 유지, 비율 유지)
         int targetWidth = meta.width;
         int targetHeight = meta.height;
@@ -122,140 +448,139 @@ public class VideoFileService {
             }
         }
 
+        // 스프라이트 타일 배치는 출력 해상도 기준
+        VideoMetadata target = new VideoMetadata(targetWidth, targetHeight, meta.duration, 0, meta.hasAudio);
+
+        if (segmentParallel && meta.duration >= segmentMinDuration) {
+            log.info("구간 병렬 인코딩 시작: {}x{} -> {}x{}", meta.width, meta.height, targetWidth, targetHeight);
+            segmentedEncoder.encode(input, output, thumbPath, meta, targetWidth, targetHeight,
+                    formatSeconds(thumbnailOffset(meta)),
+                    keyframeCommand(input, spritePath, scoresPath, target), onOutTime);
+            log.info("구간 병렬 인코딩 완료: {}", output);
+            return new VideoMetadata(targetWidth, targetHeight, meta.duration, Files.size(output), meta.hasAudio);
+        }
+
+        // 한 번 디코딩/스케일 후 split → 인코딩 출력 + 썸네일 출력 + 스프라이트 출력 + 구간 점수
+        String filter = "[0:v]scale=" + targetWidth + ":" + targetHeight + ",split=4[vout][t][s][sc];"
+                + "[t]setpts=PTS-STARTPTS,trim=start=" + formatSeconds(thumbnailOffset(meta)) + ",scale=480:-2[thumb];"
+                + "[s]" + scrubSpriteGenerator.filter(target) + "[sprite];"
+                + "[sc]" + previewClipGenerator.sceneFilter(scoresPath) + "[scene]";
+
         List<String> command = new ArrayList<>(List.of(
             "ffmpeg", "-y", "-i", input.toString(),
-            "-c:v", "libx264",
-            "-preset", "fast",
-            "-crf", "23",
-            "-profile:v", "high",
-            "-level", "4.1",
-            "-vf", "scale=" + targetWidth + ":" + targetHeight,
+            "-filter_complex", filter,
+            // 출력 1: 웹 최적화 MP4
+            "-map", "[vout]",
+            "-map", "0:a:0?"
+        ));
+        command.addAll(WEB_VIDEO_CODEC_ARGS);
+        command.addAll(List.of(
             "-c:a", "aac",
             "-b:a", "128k",
             "-movflags", "+faststart",
-            "-threads", "2",
-            output.toString()
+            "-threads", String.valueOf(encodingCapacity.getThreadsPerJob()),
+            output.toString(),
+            // 출력 2: 썸네일
+            "-map", "[thumb]",
+            "-frames:v", "1",
+            "-q:v", "2",
+            thumbPath.toString()
         ));
+        // 출력 3: 스프라이트, 출력 4: 구간 점수 (파일로만 기록)
+        command.addAll(scrubSpriteGenerator.outputArgs("sprite", spritePath));
+        command.addAll(previewClipGenerator.sceneOutputArgs("scene"));
 
         log.info("인코딩 시작: {}x{} -> {}x{}", meta.width, meta.height, targetWidth, targetHeight);
-        
-        ProcessBuilder pb = new ProcessBuilder(command);
-        pb.redirectErrorStream(true);
-        Process process = pb.start();
-
-        // 로그 출력 (디버깅용)
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.contains("frame=") || line.contains("error")) {
-                    log.debug("ffmpeg: {}", line);
-                }
-            }
-        }
+        ffmpegRunner.run(command, 5, "인코딩", onOutTime);
 
-        boolean finished = process.waitFor(5, TimeUnit.MINUTES);
-        if (!finished) {
-            process.destroyForcibly();
-            throw new RuntimeException("인코딩 타임아웃");
-        }
+        log.info("인코딩 완료: {}", output);
 
-        if (process.exitValue() != 0) {
-            throw new RuntimeException("인코딩 실패: exit code " + process.exitValue());
-        }
+        // 인코딩 파라미터로 최종 메타데이터 계산 (출력 재분석 생략)
+        return new VideoMetadata(targetWidth, targetHeight, meta.duration, Files.size(output), meta.hasAudio);
+    }
 
-        log.info("인코딩 완료: {}", output);
+    // 키프레임 입력 → 스프라이트 + 구간 점수 (전체 디코딩이 없는 패스용)
+    private String keyframeFilter(String inputLabel, Path spritePath, Path scoresPath, VideoMetadata target) {
+        return "[" + inputLabel + "]split=2[s][sc];"
+                + "[s]" + scrubSpriteGenerator.filter(target) + "[sprite];"
+                + "[sc]" + previewClipGenerator.sceneFilter(scoresPath) + "[scene]";
+    }
+
+    // 구간 병렬 인코딩 레인에서 실행할 키프레임 디코딩 명령
+    private List<String> keyframeCommand(Path input, Path spritePath, Path scoresPath, VideoMetadata target) {
+        List<String> command = new ArrayList<>(List.of("ffmpeg", "-y"));
+        command.addAll(scrubSpriteGenerator.keyframeInputArgs(input));
+        command.addAll(List.of("-an", "-sn", "-filter_complex", keyframeFilter("0:v", spritePath, scoresPath, target)));
+        command.addAll(scrubSpriteGenerator.outputArgs("sprite", spritePath));
+        command.addAll(previewClipGenerator.sceneOutputArgs("scene"));
+        return command;
+    }
+
+    // ffmpeg 출력 시각(초) → 전체 진행률 구간 [from, to]
+    private DoubleConsumer progressRange(ProcessingListener listener, double duration, double from, double to) {
+        return outSeconds -> {
+            double ratio = duration > 0 ? Math.min(1.0, outSeconds / duration) : 0;
+            listener.onProgress(from + (to - from) * ratio);
+        };
+    }
+
+    // 썸네일 위치: 1초 (1초 미만 영상은 중간)
+    private double thumbnailOffset(VideoMetadata meta) {
+        return meta.duration >= 2 ? 1.0 : Math.max(0, meta.duration / 2.0);
+    }
+
+    private String formatSeconds(double seconds) {
+        return String.format(Locale.ROOT, "%.3f", seconds);
     }
 
     private void validateFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw BusinessException.badRequest("파일이 없습니다.");
         }
+        validateUpload(file.getOriginalFilename(), file.getSize());
+    }
 
-        String ext = getExtension(file.getOriginalFilename());
+    public void validateUpload(String filename, long size) {
+        String ext = getExtension(filename);
         if (!ALLOWED_EXTENSIONS.contains(ext.toLowerCase())) {
             throw BusinessException.badRequest("지원하지 않는 파일 형식입니다. (mp4, mov, avi, webm, mkv)");
         }
 
-        if (file.getSize() > MAX_FILE_SIZE) {
+        if (size <= 0) {
+            throw BusinessException.badRequest("파일이 없습니다.");
+        }
+
+        if (size > MAX_FILE_SIZE) {
             throw BusinessException.badRequest("파일 크기는 500MB 이하만 가능합니다.");
         }
     }
 
-    public VideoMetadata extractMetadata(Path filePath) {
-        try {
-            ProcessBuilder pb = new ProcessBuilder(
-                "ffprobe", "-v", "quiet", "-print_format", "json",
-                "-show_format", "-show_streams", filePath.toString()
-            );
-            Process process = pb.start();
-            String output = new String(process.getInputStream().readAllBytes());
-            process.waitFor(30, TimeUnit.SECONDS);
-
-            int width = 0, height = 0, duration = 0;
-            long fileSize = Files.size(filePath);
-
-            // 간단한 파싱
-            if (output.contains("\"width\"")) {
-                width = extractInt(output, "\"width\":");
-            }
-            if (output.contains("\"height\"")) {
-                height = extractInt(output, "\"height\":");
-            }
-            if (output.contains("\"duration\"")) {
-                duration = (int) extractDouble(output, "\"duration\":");
-            }
-
-            return new VideoMetadata(width, height, duration, fileSize);
-        } catch (Exception e) {
-            log.warn("메타데이터 추출 실패: {}", e.getMessage());
-            return new VideoMetadata(0, 0, 0, 0);
-        }
+    /**
+     * 수신 중인 원본 앞부분 검사 (컨테이너 시그니처, 헤더가 있으면 길이)
+     * @return true: 더 검사할 필요 없음
+     * @throws BusinessException 형식/길이 불일치
+     */
+    public boolean inspectPartial(Path partial, long written, String filename) throws IOException {
+        return uploadInspector.inspect(partial, written, getExtension(filename), MAX_DURATION);
     }
 
-    private void generateThumbnail(Path videoPath, Path thumbPath) {
+    public VideoMetadata extractMetadata(Path filePath) {
         try {
-            ProcessBuilder pb = new ProcessBuilder(
-                "ffmpeg", "-y", "-i", videoPath.toString(),
-                "-ss", "00:00:01", "-vframes", "1",
-                "-vf", "scale=480:-2",
-                "-q:v", "2",
-                thumbPath.toString()
-            );
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
-            process.getInputStream().readAllBytes();
-            process.waitFor(30, TimeUnit.SECONDS);
-            log.info("썸네일 생성: {}", thumbPath);
+            return mediaProbe.probe(filePath).toMetadata();
         } catch (Exception e) {
-            log.warn("썸네일 생성 실패: {}", e.getMessage());
+            log.warn("메타데이터 추출 실패: {}", e.getMessage());
+            return new VideoMetadata(0, 0, 0, 0, false);
         }
     }
 
-    private int extractInt(String json, String key) {
-        int idx = json.indexOf(key);
-        if (idx < 0) return 0;
-        int start = idx + key.length();
-        while (start < json.length() && !Character.isDigit(json.charAt(start))) start++;
-        int end = start;
-        while (end < json.length() && Character.isDigit(json.charAt(end))) end++;
-        return Integer.parseInt(json.substring(start, end));
-    }
-
-    private double extractDouble(String json, String key) {
-        int idx = json.indexOf(key);
-        if (idx < 0) return 0;
-        int start = idx + key.length();
-        while (start < json.length() && !Character.isDigit(json.charAt(start)) && json.charAt(start) != '.') start++;
-        int end = start;
-        while (end < json.length() && (Character.isDigit(json.charAt(end)) || json.charAt(end) == '.')) end++;
-        return Double.parseDouble(json.substring(start, end));
-    }
-
     private String getExtension(String filename) {
         if (filename == null || !filename.contains(".")) return "";
         return filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
     }
 
-    public record VideoMetadata(int width, int height, int duration, long fileSize) {}
-    public record VideoUploadResult(String videoPath, String thumbnailPath, VideoMetadata metadata) {}
+    public record StoredUpload(Path path, String datePath, String fileKey, String contentHash) {}
+    public record VideoMetadata(int width, int height, int duration, long fileSize, boolean hasAudio) {}
+    public record VideoUploadResult(String videoPath, String thumbnailPath, String manifestPath,
+                                    String spritePath, String spriteVttPath, String previewPath,
+                                    VideoMetadata metadata) {}
 }
@@ -5,3 +5,27 @@ function getCsrfToken() {
 function getCsrfHeader() {
     return document.querySelector('meta[name="_csrf_header"]')?.content;
 }
+
+// 피드 미리보기: 썸네일에 마우스를 올리면 무음 클립 재생
+document.addEventListener('mouseover', (e) => {
+    const img = e.target.closest?.('img[data-preview]');
+    if (!img || img.dataset.playing) return;
+    img.dataset.playing = '1';
+
+    const clip = document.createElement('video');
+    clip.src = img.dataset.preview;
+    clip.className = img.className;
+    clip.muted = true;
+    clip.loop = true;
+    clip.playsInline = true;
+    clip.preload = 'none';
+    img.after(clip);
+    img.hidden = true;
+    clip.play().catch(() => {});
+
+    img.parentElement.addEventListener('mouseleave', () => {
+        clip.remove();
+        img.hidden = false;
+        delete img.dataset.playing;
+    }, { once: true });
+});
@@ -0,0 +1,237 @@
+package kr.salm.file.service;
+
+import kr.salm.community.repository.VideoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class MediaFileServerTest {
+
+    private static final String VIDEO = "videos/2024/01/01/abc.mp4";
+    private static final String VIDEO_PATH = "/videos/2024/01/01/abc.mp4";
+
+    @TempDir
+    Path uploadDir;
+
+    private VideoRepository videoRepository;
+    private MediaFileServer server;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        videoRepository = mock(VideoRepository.class);
+        when(videoRepository.existsServableByVideoPath(anyString())).thenReturn(true);
+        server = new MediaFileServer(new LocalBlobStore(uploadDir.toString(), ""), videoRepository,
+                false, "/protected-media", 30_000);
+
+        content = new byte[100];
+        for (int i = 0; i < content.length; i++) content[i] = (byte) i;
+        write(VIDEO, content);
+    }
+
+    // --- parseRange ---
+
+    @Test
+    void parseRange_closedRange() {
+        assertThat(MediaFileServer.parseRange("bytes=10-19", 100)).containsExactly(10, 19);
+    }
+
+    @Test
+    void parseRange_openEnded() {
+        assertThat(MediaFileServer.parseRange("bytes=90-", 100)).containsExactly(90, 99);
+    }
+
+    @Test
+    void parseRange_endClampedToLength() {
+        assertThat(MediaFileServer.parseRange("bytes=50-500", 100)).containsExactly(50, 99);
+    }
+
+    @Test
+    void parseRange_suffix() {
+        assertThat(MediaFileServer.parseRange("bytes=-10", 100)).containsExactly(90, 99);
+        assertThat(MediaFileServer.parseRange("bytes=-500", 100)).containsExactly(0, 99);
+    }
+
+    @Test
+    void parseRange_unsatisfiable() {
+        assertThat(MediaFileServer.parseRange("bytes=100-", 100)).isNull();
+        assertThat(MediaFileServer.parseRange("bytes=150-200", 100)).isNull();
+        assertThat(MediaFileServer.parseRange("bytes=-0", 100)).isNull();
+        assertThat(MediaFileServer.parseRange("bytes=0-", 0)).isNull();
+    }
+
+    @Test
+    void parseRange_ignored() {
+        assertThat(MediaFileServer.parseRange("items=0-10", 100)).isEmpty();
+        assertThat(MediaFileServer.parseRange("bytes=0-1,5-6", 100)).isEmpty();
+        assertThat(MediaFileServer.parseRange("bytes=abc", 100)).isEmpty();
+        assertThat(MediaFileServer.parseRange("bytes=x-y", 100)).isEmpty();
+        // 끝이 시작보다 앞서면 문법 오류 → 무시
+        assertThat(MediaFileServer.parseRange("bytes=20-10", 100)).isEmpty();
+        assertThat(MediaFileServer.parseRange("bytes=150-120", 100)).isEmpty();
+    }
+
+    // --- owningVideoPath ---
+
+    @Test
+    void owningVideoPath_derivedFiles() {
+        assertThat(MediaFileServer.owningVideoPath(VIDEO)).isEqualTo(VIDEO_PATH);
+        assertThat(MediaFileServer.owningVideoPath("videos/2024/01/01/abc_preview.mp4")).isEqualTo(VIDEO_PATH);
+        assertThat(MediaFileServer.owningVideoPath("videos/2024/01/01/abc_hls/720p/seg_001.m4s")).isEqualTo(VIDEO_PATH);
+        assertThat(MediaFileServer.owningVideoPath("thumbnails/2024/01/01/abc_thumb.jpg")).isEqualTo(VIDEO_PATH);
+        assertThat(MediaFileServer.owningVideoPath("thumbnails/2024/01/01/abc_sprite.vtt")).isEqualTo(VIDEO_PATH);
+    }
+
+    @Test
+    void owningVideoPath_notVideo() {
+        assertThat(MediaFileServer.owningVideoPath("clothes/2024/01/01/shirt.jpg")).isNull();
+        assertThat(MediaFileServer.owningVideoPath("videos/2024/abc.mp4")).isNull();
+    }
+
+    // --- serve ---
+
+    @Test
+    void serve_full() throws Exception {
+        MockHttpServletResponse response = serve(get(VIDEO));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(response.getContentLengthLong()).isEqualTo(100);
+        assertThat(response.getContentType()).isEqualTo("video/mp4");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("\"64-");
+    }
+
+    @Test
+    void serve_range() throws Exception {
+        MockHttpServletRequest request = get(VIDEO);
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/100");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 10, 20));
+    }
+
+    @Test
+    void serve_unsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = get(VIDEO);
+        request.addHeader(HttpHeaders.RANGE, "bytes=200-");
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */100");
+    }
+
+    @Test
+    void serve_ifRangeMismatchSendsFullBody() throws Exception {
+        MockHttpServletRequest request = get(VIDEO);
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void serve_notModified() throws Exception {
+        String etag = serve(get(VIDEO)).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = get(VIDEO);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void serve_head() throws Exception {
+        MockHttpServletRequest request = get(VIDEO);
+        request.setMethod("HEAD");
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentLengthLong()).isEqualTo(100);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void serve_sendfileDelegation() throws Exception {
+        MockHttpServletRequest request = get(VIDEO);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        serve(request);
+
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(10L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(20L);
+    }
+
+    @Test
+    void serve_rejectsUnservablePaths() throws Exception {
+        write("videos/2024/01/01/abc_temp.mov", content);
+
+        assertThat(serve(get("videos/2024/01/01/abc_temp.mov")).getStatus()).isEqualTo(404);
+        assertThat(serve(get("videos/2024/../../secret.mp4")).getStatus()).isEqualTo(404);
+        assertThat(serve(get("other/2024/01/01/abc.mp4")).getStatus()).isEqualTo(404);
+        assertThat(serve(get("videos/2024/01/01/missing.mp4")).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void serve_hiddenVideo() throws Exception {
+        write("thumbnails/2024/01/01/abc_thumb.jpg", content);
+        when(videoRepository.existsServableByVideoPath(VIDEO_PATH)).thenReturn(false);
+
+        assertThat(serve(get(VIDEO)).getStatus()).isEqualTo(404);
+        assertThat(serve(get("thumbnails/2024/01/01/abc_thumb.jpg")).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void serve_clothesSkipVideoCheck() throws Exception {
+        write("clothes/2024/01/01/shirt.jpg", content);
+
+        assertThat(serve(get("clothes/2024/01/01/shirt.jpg")).getStatus()).isEqualTo(200);
+        verify(videoRepository, never()).existsServableByVideoPath(anyString());
+    }
+
+    @Test
+    void serve_cachesVisibilityUntilHidden() throws Exception {
+        serve(get(VIDEO));
+        serve(get(VIDEO));
+        verify(videoRepository, times(1)).existsServableByVideoPath(VIDEO_PATH);
+
+        server.onVideoHidden(new MediaFileServer.VideoHidden(VIDEO_PATH));
+        when(videoRepository.existsServableByVideoPath(VIDEO_PATH)).thenReturn(false);
+
+        assertThat(serve(get(VIDEO)).getStatus()).isEqualTo(404);
+        verify(videoRepository, times(2)).existsServableByVideoPath(VIDEO_PATH);
+    }
+
+    private MockHttpServletRequest get(String relative) {
+        return new MockHttpServletRequest("GET", "/" + relative);
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        server.serve(request.getRequestURI().substring(1), request, response);
+        return response;
+    }
+
+    private void write(String relative, byte[] bytes) throws Exception {
+        Path file = uploadDir.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.write(file, bytes);
+    }
+}
@@ -0,0 +1,121 @@
+package kr.salm.file.service;
+
+import kr.salm.file.entity.StorageTier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * MinIO 에 실제 요청 (Docker 없으면 건너뜀)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3BlobStoreIntegrationTest {
+
+    @Container
+    static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+
+    private static S3BlobStore store;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void createBucket() throws Exception {
+        store = new S3BlobStore(MINIO.getS3URL(), "us-east-1", "salm-test",
+                MINIO.getUserName(), MINIO.getPassword(), "STANDARD");
+        store.createBucket();
+    }
+
+    @Test
+    void putKeepsLocalFile() throws Exception {
+        byte[] content = bytes(1000);
+        Path file = Files.write(tempDir.resolve("a.mp4"), content);
+
+        store.put("put/2024/01/01/a.mp4", file);
+
+        assertThat(file).exists();
+        BlobStore.BlobInfo info = store.stat("put/2024/01/01/a.mp4").orElseThrow();
+        assertThat(info.size()).isEqualTo(1000);
+        assertThat(info.lastModified()).isPositive();
+        assertThat(info.tier()).isEqualTo(StorageTier.HOT);
+    }
+
+    @Test
+    void moveDeletesLocalFile() throws Exception {
+        Path file = Files.write(tempDir.resolve("b.jpg"), bytes(10));
+
+        store.move("move/b.jpg", file);
+
+        assertThat(file).doesNotExist();
+        assertThat(store.exists("move/b.jpg")).isTrue();
+    }
+
+    @Test
+    void rangeStream() throws Exception {
+        byte[] content = bytes(500);
+        store.put("range/c.mp4", new ByteArrayInputStream(content), content.length);
+
+        try (InputStream in = store.stream("range/c.mp4", 100, 50)) {
+            assertThat(in.readAllBytes()).isEqualTo(Arrays.copyOfRange(content, 100, 150));
+        }
+        Path target = store.get("range/c.mp4", tempDir.resolve("c.mp4"));
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    }
+
+    @Test
+    void missingKey() throws Exception {
+        assertThat(store.stat("missing/x.mp4")).isEmpty();
+        assertThatThrownBy(() -> store.stream("missing/x.mp4", 0, 10)).isInstanceOf(NoSuchFileException.class);
+        assertThatThrownBy(() -> store.get("missing/x.mp4", tempDir.resolve("x.mp4"))).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void listPaginates() throws Exception {
+        List<String> keys = List.of("list/a.mp4", "list/b c.mp4", "list/d&e.vtt", "list/hls/0.m4s", "list/영상.jpg");
+        for (String key : keys) {
+            store.put(key, new ByteArrayInputStream(bytes(1)), 1);
+        }
+        store.put("listed-not/x.mp4", new ByteArrayInputStream(bytes(1)), 1);
+
+        store.listPageSize = 2;
+        try {
+            assertThat(store.list("list/")).containsExactlyInAnyOrderElementsOf(keys);
+        } finally {
+            store.listPageSize = 1000;
+        }
+    }
+
+    @Test
+    void deleteAndDeletePrefix() throws Exception {
+        store.put("del/a.mp4", new ByteArrayInputStream(bytes(1)), 1);
+        store.put("del/hls/0.m4s", new ByteArrayInputStream(bytes(1)), 1);
+        store.put("del/hls/1.m4s", new ByteArrayInputStream(bytes(1)), 1);
+
+        store.delete("del/a.mp4");
+        store.delete("del/a.mp4");  // 없는 키도 성공
+        assertThat(store.stat("del/a.mp4")).isEmpty();
+
+        store.deletePrefix("del/hls/");
+        assertThat(store.list("del/")).isEmpty();
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) bytes[i] = (byte) (i * 31);
+        return bytes;
+    }
+}